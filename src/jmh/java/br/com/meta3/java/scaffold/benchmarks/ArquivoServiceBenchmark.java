@@ -0,0 +1,54 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ArquivoService write paths (validation, JPA save, arquivo_resumo deltas, cache invalidation)
+ * and its derived finders, at each BenchmarkDatabase size.
+ *
+ * Note: create adds rows during the run, so the table grows by a few thousand rows per
+ * iteration; negligible next to 100k/1M, noticeable at 1k.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArquivoServiceBenchmark {
+
+    private final SyntheticData data = new SyntheticData(Thread.currentThread().threadId());
+
+    @Benchmark
+    public ArquivoDto create(BenchmarkDatabase db) {
+        return db.arquivoService.create(data.arquivo());
+    }
+
+    @Benchmark
+    public ArquivoDto update(BenchmarkDatabase db) {
+        ArquivoDto dto = data.arquivo();
+        dto.setCodigoarquivo(db.arquivoIds[data.nextInt(db.arquivoIds.length)]);
+        return db.arquivoService.update(dto);
+    }
+
+    @Benchmark
+    public List<ArquivoDto> findByCodigoescola(BenchmarkDatabase db) {
+        return db.arquivoService.findByCodigoescola(data.escola());
+    }
+
+    @Benchmark
+    public List<ArquivoDto> findByAnovigencia(BenchmarkDatabase db) {
+        return db.arquivoService.findByAnovigencia(data.ano());
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.Application;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.application.services.ArquivoService;
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Spring application context on an embedded H2 database preloaded with `rows` Arquivo and `rows`
+ * ArquivoRecadastramentoEstado rows (SyntheticData, seed SEED), shared by all benchmark threads.
+ *
+ * Design notes:
+ * - The context runs with SQL logging off and, for JMH, without the web layer (LoadHarness starts
+ *   it with one); everything else (services, caches, repositories, JDBC batching) is the
+ *   production configuration from application.properties.
+ * - Rows are loaded through the JDBC bulk paths (insertAll for recadastramento, one batched INSERT
+ *   for arquivo taking ids from arquivo_seq), then arquivo_resumo is rebuilt, so loading 1M rows
+ *   takes seconds rather than the time of 1M service calls.
+ * - JMH forks one JVM per parameter value, so every row count gets a fresh in-memory database.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    static final long SEED = 20240101L;
+
+    private static final int LOAD_BATCH = 10_000;
+    private static final int SAMPLE_SIZE = 1024;
+
+    private static final String INSERT_ARQUIVO_SQL = "INSERT INTO arquivo (codigo_arquivo, nome_arquivo, "
+            + "quantidade_registro, aptos, sem_documento, com_codigo_setps, com_erro, ano_vigencia, codigo_escola) "
+            + "VALUES (NEXT VALUE FOR arquivo_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    ConfigurableApplicationContext context;
+    ArquivoService arquivoService;
+    ArquivoRecadastramentoEstadoRepository recadastramentoRepository;
+
+    // Ids of the loaded Arquivo rows, for update benchmarks.
+    int[] arquivoIds;
+
+    // CNPJs of up to SAMPLE_SIZE loaded recadastramento rows, for lookups that find something.
+    String[] cnpjs;
+
+    @Setup(Level.Trial)
+    public void start() {
+        start(WebApplicationType.NONE);
+    }
+
+    /**
+     * Start the context with the given web application type and load the rows.
+     *
+     * @param extraArgs further command-line arguments for the application (e.g., --server.port=0)
+     */
+    void start(WebApplicationType webApplicationType, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:jmh-" + rows + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        args.addAll(List.of(extraArgs));
+        context = new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                // Command-line arguments override application.properties.
+                .run(args.toArray(String[]::new));
+        arquivoService = context.getBean(ArquivoService.class);
+        recadastramentoRepository = context.getBean(ArquivoRecadastramentoEstadoRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        loadArquivos(jdbcTemplate);
+        loadRecadastramentos();
+        arquivoService.rebuildResumo();
+        arquivoIds = jdbcTemplate.queryForList("SELECT codigo_arquivo FROM arquivo", Integer.class).stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void loadArquivos(JdbcTemplate jdbcTemplate) {
+        SyntheticData data = new SyntheticData(SEED);
+        for (int start = 0; start < rows; start += LOAD_BATCH) {
+            List<ArquivoDto> batch = new ArrayList<>(LOAD_BATCH);
+            for (int i = start; i < Math.min(rows, start + LOAD_BATCH); i++) {
+                batch.add(data.arquivo());
+            }
+            jdbcTemplate.batchUpdate(INSERT_ARQUIVO_SQL, batch, batch.size(), (ps, dto) -> {
+                ps.setString(1, dto.getNomearquivo());
+                ps.setInt(2, dto.getQuantidaderegistro());
+                ps.setInt(3, dto.getAptos());
+                ps.setInt(4, dto.getSemdocumento());
+                ps.setInt(5, dto.getComcodigosetps());
+                ps.setInt(6, dto.getComerro());
+                ps.setObject(7, AnoConverter.toColumn(dto.getAnovigencia()), Types.SMALLINT);
+                ps.setString(8, dto.getCodigoescola());
+            });
+        }
+    }
+
+    private void loadRecadastramentos() {
+        SyntheticData data = new SyntheticData(SEED);
+        List<String> sample = new ArrayList<>(SAMPLE_SIZE);
+        int every = Math.max(1, rows / SAMPLE_SIZE);
+        for (int start = 0; start < rows; start += LOAD_BATCH) {
+            List<ArquivoRecadastramentoEstado> batch = new ArrayList<>(LOAD_BATCH);
+            for (int i = start; i < Math.min(rows, start + LOAD_BATCH); i++) {
+                ArquivoRecadastramentoEstado entity = data.recadastramento(i);
+                if (i % every == 0 && sample.size() < SAMPLE_SIZE) {
+                    sample.add(entity.getCnpj());
+                }
+                batch.add(entity);
+            }
+            recadastramentoRepository.insertAll(batch);
+        }
+        cnpjs = sample.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DTO/entity conversions done on every request. No Spring context or database is involved.
+ *
+ * The recadastramento conversions include the legacy date parsing (toEntity) and formatting
+ * (fromEntity) of dataMovimentacao.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ArquivoDto arquivoDto;
+    private Arquivo arquivo;
+    private ArquivoRecadastramentoEstadoDto recadastramentoDto;
+    private ArquivoRecadastramentoEstado recadastramento;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(BenchmarkDatabase.SEED);
+        arquivoDto = data.arquivo();
+        arquivoDto.setCodigoarquivo(1);
+        arquivo = arquivoDto.toEntity();
+        recadastramento = data.recadastramento(1);
+        recadastramentoDto = ArquivoRecadastramentoEstadoDto.fromEntity(recadastramento);
+        // Legacy layout, as received from the import files and older clients.
+        recadastramentoDto.setDataMovimentacao("15/03/2021");
+    }
+
+    @Benchmark
+    public Arquivo arquivoToEntity() {
+        return arquivoDto.toEntity();
+    }
+
+    @Benchmark
+    public ArquivoDto arquivoFromEntity() {
+        return ArquivoDto.fromEntity(arquivo);
+    }
+
+    @Benchmark
+    public ArquivoRecadastramentoEstado recadastramentoToEntity() {
+        return recadastramentoDto.toEntity();
+    }
+
+    @Benchmark
+    public ArquivoRecadastramentoEstadoDto recadastramentoFromEntity() {
+        return ArquivoRecadastramentoEstadoDto.fromEntity(recadastramento);
+    }
+}
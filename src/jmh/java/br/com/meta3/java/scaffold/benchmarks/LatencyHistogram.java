@@ -0,0 +1,95 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent latency histogram with HDR-style log-linear buckets, in microseconds.
+ *
+ * Design notes:
+ * - Values below 2 * SUB_BUCKETS get one bucket each; above that every power of two is split into
+ *   SUB_BUCKETS linear buckets, so any percentile is reported within 1 / SUB_BUCKETS (~1.6%) of the
+ *   recorded value, over the whole long range, in a fixed array of a few thousand counters.
+ * - Percentiles report the highest value of the bucket (never understating a latency), capped at
+ *   the exact maximum recorded.
+ * - record() is lock-free (one atomic increment), so many virtual-thread clients can share one
+ *   histogram per operation without contention on a lock.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record one latency.
+     *
+     * @param micros latency in microseconds; negative values are recorded as 0
+     */
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(index(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    double mean() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Latency at or below which the given percentage of the recorded values fall.
+     *
+     * @param percentile 0..100, e.g. 99.9
+     * @return microseconds (0 when nothing was recorded)
+     */
+    long percentile(double percentile) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        long top = value >>> shift;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (top - SUB_BUCKETS);
+    }
+
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long top = SUB_BUCKETS + (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
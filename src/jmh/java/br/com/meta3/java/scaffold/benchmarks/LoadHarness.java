@@ -0,0 +1,340 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+/**
+ * End-to-end HTTP load test of /api/arquivos and /api/recadastramento-estado against the
+ * application running in-process, reporting p50/p95/p99/p99.9 latency per operation.
+ *
+ * Run with: ./mvnw -Pjmh test-compile exec:exec@load-test -Dload.args="--clients=200 --duration=PT60S"
+ *
+ * Options (--name=value):
+ * - rows: Arquivo and recadastramento rows loaded before the test (default 10000)
+ * - clients: concurrent clients, one virtual thread each (default 200)
+ * - warmup / duration: ISO-8601 durations of the unreported warmup and of the measurement (PT10S / PT60S)
+ * - rate: total requests per second, or 0 for clients sending back to back (default 0)
+ * - mix: weights per operation, e.g. arquivo-get=8,recadastramento-finder=2; operations not listed
+ *   are not sent (default: Operacao weights)
+ * - out: JSON result file (default target/load-result.json)
+ * Any other --name=value argument is passed to the application, e.g. --spring.threads.virtual.enabled=true.
+ *
+ * Design notes:
+ * - The server and the database are the production configuration on the BenchmarkDatabase data,
+ *   so a change to the request path can be compared by running the same options before and after.
+ * - With rate > 0 each client sends on a fixed schedule and latency is measured from the
+ *   scheduled send time, so a stalled server shows up in the percentiles instead of just lowering
+ *   the request count (coordinated omission). With rate = 0 the percentiles are service times at
+ *   the throughput the server sustains.
+ * - Client and server share the JVM and the cores; the absolute figures are for comparison between
+ *   runs on the same machine, not a substitute for a test against a deployed instance.
+ * - Failed requests (non-2xx or I/O errors) are counted per operation and kept out of the histograms.
+ */
+public final class LoadHarness {
+
+    private static final double[] PERCENTIS = {50, 95, 99, 99.9};
+    private static final String[] PERCENTIS_JSON = {"p50Micros", "p95Micros", "p99Micros", "p999Micros"};
+
+    /**
+     * Request types with their default weight in the mix.
+     */
+    enum Operacao {
+        ARQUIVO_GET("arquivo-get", 25),
+        ARQUIVO_LIST("arquivo-list", 5),
+        ARQUIVO_FINDER("arquivo-finder", 10),
+        ARQUIVO_POST("arquivo-post", 5),
+        RECADASTRAMENTO_GET("recadastramento-get", 25),
+        RECADASTRAMENTO_LIST("recadastramento-list", 5),
+        RECADASTRAMENTO_FINDER("recadastramento-finder", 20),
+        RECADASTRAMENTO_POST("recadastramento-post", 5);
+
+        private final String nome;
+        private final int peso;
+
+        Operacao(String nome, int peso) {
+            this.nome = nome;
+            this.peso = peso;
+        }
+
+        static Operacao fromNome(String nome) {
+            for (Operacao operacao : values()) {
+                if (operacao.nome.equals(nome)) {
+                    return operacao;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + nome);
+        }
+    }
+
+    /**
+     * Histograms and error counters of one phase (warmup or measurement).
+     */
+    private record Resultado(Map<Operacao, LatencyHistogram> latencias, Map<Operacao, AtomicLong> erros) {
+
+        static Resultado novo() {
+            Map<Operacao, LatencyHistogram> latencias = new EnumMap<>(Operacao.class);
+            Map<Operacao, AtomicLong> erros = new EnumMap<>(Operacao.class);
+            for (Operacao operacao : Operacao.values()) {
+                latencias.put(operacao, new LatencyHistogram());
+                erros.put(operacao, new AtomicLong());
+            }
+            return new Resultado(latencias, erros);
+        }
+    }
+
+    private final BenchmarkDatabase db;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int clients;
+    private final double rate;
+    // Operation per unit of weight: picking a random slot follows the mix.
+    private final Operacao[] mix;
+    // Codigos for POST /api/recadastramento-estado continue after the loaded rows.
+    private final AtomicLong proximoCodigo;
+
+    private LoadHarness(BenchmarkDatabase db, int port, int clients, double rate, Operacao[] mix) {
+        this.db = db;
+        this.objectMapper = db.context.getBean(ObjectMapper.class);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = "http://localhost:" + port;
+        this.clients = clients;
+        this.rate = rate;
+        this.mix = mix;
+        this.proximoCodigo = new AtomicLong(db.rows);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "rows", "10000",
+                "clients", "200",
+                "warmup", "PT10S",
+                "duration", "PT60S",
+                "rate", "0",
+                "out", "target/load-result.json"));
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            pesos.put(operacao.nome, operacao.peso);
+        }
+        List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0"));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            if (name.equals("mix")) {
+                pesos = parseMix(value);
+            } else if (options.containsKey(name)) {
+                options.put(name, value);
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        BenchmarkDatabase db = new BenchmarkDatabase();
+        db.rows = Integer.parseInt(options.get("rows"));
+        db.start(WebApplicationType.SERVLET, applicationArgs.toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) db.context).getWebServer().getPort();
+            LoadHarness harness = new LoadHarness(db, port, Integer.parseInt(options.get("clients")),
+                    Double.parseDouble(options.get("rate")), slots(pesos));
+            harness.run(Duration.parse(options.get("warmup")), 1);
+            Duration duration = Duration.parse(options.get("duration"));
+            Resultado resultado = harness.run(duration, 2);
+            harness.report(resultado, duration, options, pesos);
+        } finally {
+            db.stop();
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String item : value.split(",")) {
+            String[] parts = item.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in mix, got: " + item);
+            }
+            pesos.put(Operacao.fromNome(parts[0].trim()).nome, Integer.parseInt(parts[1].trim()));
+        }
+        return pesos;
+    }
+
+    private static Operacao[] slots(Map<String, Integer> pesos) {
+        List<Operacao> slots = new ArrayList<>();
+        pesos.forEach((nome, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                slots.add(Operacao.fromNome(nome));
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        return slots.toArray(Operacao[]::new);
+    }
+
+    /**
+     * Run all clients for the given time and return what they recorded.
+     *
+     * @param fase distinguishes the random sequences of the warmup and the measurement
+     */
+    private Resultado run(Duration duration, int fase) {
+        Resultado resultado = Resultado.novo();
+        long inicio = System.nanoTime();
+        long fim = inicio + duration.toNanos();
+        // Nanoseconds between two sends of the same client; 0 sends back to back.
+        long intervalo = rate > 0 ? (long) (clients * 1e9 / rate) : 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                SyntheticData data = new SyntheticData(BenchmarkDatabase.SEED + fase * 1_000_003L + c);
+                // Spread the scheduled sends of the clients over one interval.
+                long primeiro = inicio + intervalo * c / clients;
+                executor.submit(() -> client(data, primeiro, fim, intervalo, resultado));
+            }
+        }
+        return resultado;
+    }
+
+    private void client(SyntheticData data, long primeiro, long fim, long intervalo, Resultado resultado) {
+        long agendado = primeiro;
+        while (agendado < fim) {
+            Operacao operacao = mix[data.nextInt(mix.length)];
+            HttpRequest request = request(operacao, data);
+            long inicio;
+            if (intervalo > 0) {
+                long espera = agendado - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                inicio = agendado;
+                agendado += intervalo;
+            } else {
+                inicio = System.nanoTime();
+                agendado = inicio;
+            }
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+                if (response.statusCode() / 100 == 2) {
+                    resultado.latencias().get(operacao).record(micros);
+                } else {
+                    resultado.erros().get(operacao).incrementAndGet();
+                }
+            } catch (IOException ex) {
+                resultado.erros().get(operacao).incrementAndGet();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(Operacao operacao, SyntheticData data) {
+        return switch (operacao) {
+            case ARQUIVO_GET -> get("/api/arquivos/" + db.arquivoIds[data.nextInt(db.arquivoIds.length)]);
+            case ARQUIVO_LIST -> get("/api/arquivos?limit=100");
+            case ARQUIVO_FINDER -> data.nextInt(2) == 0
+                    ? get("/api/arquivos/escola/" + data.escola())
+                    : get("/api/arquivos/ano/" + data.ano());
+            case ARQUIVO_POST -> post("/api/arquivos", data.arquivo());
+            case RECADASTRAMENTO_GET -> get("/api/recadastramento-estado/" + SyntheticData.codigo(data.nextInt(db.rows)));
+            case RECADASTRAMENTO_LIST -> get("/api/recadastramento-estado?limit=100");
+            case RECADASTRAMENTO_FINDER -> switch (data.nextInt(3)) {
+                case 0 -> get("/api/recadastramento-estado/ano-base/" + data.ano());
+                case 1 -> get("/api/recadastramento-estado/bairro/" + encode(data.bairro()));
+                default -> get("/api/recadastramento-estado/cnpj?cnpj=" + encode(db.cnpjs[data.nextInt(db.cnpjs.length)]));
+            };
+            case RECADASTRAMENTO_POST -> post("/api/recadastramento-estado",
+                    ArquivoRecadastramentoEstadoDto.fromEntity(data.recadastramento(proximoCodigo.getAndIncrement())));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not serialize request body", ex);
+        }
+    }
+
+    // Path segment or query value; URLEncoder writes spaces as '+', which is literal in a path.
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Print one line per operation and write the JSON result file.
+     */
+    private void report(Resultado resultado, Duration duration, Map<String, String> options,
+                        Map<String, Integer> pesos) throws IOException {
+        double segundos = duration.toNanos() / 1e9;
+        Map<String, Object> operacoes = new LinkedHashMap<>();
+        System.out.printf(Locale.ROOT, "%-24s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operacao operacao : Operacao.values()) {
+            LatencyHistogram latencias = resultado.latencias().get(operacao);
+            long erros = resultado.erros().get(operacao).get();
+            if (latencias.count() == 0 && erros == 0) {
+                continue;
+            }
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("requests", latencias.count());
+            linha.put("errors", erros);
+            linha.put("throughput", latencias.count() / segundos);
+            linha.put("meanMicros", latencias.mean());
+            for (int p = 0; p < PERCENTIS.length; p++) {
+                linha.put(PERCENTIS_JSON[p], latencias.percentile(PERCENTIS[p]));
+            }
+            linha.put("maxMicros", latencias.max());
+            operacoes.put(operacao.nome, linha);
+            System.out.printf(Locale.ROOT, "%-24s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    operacao.nome, latencias.count(), erros, latencias.count() / segundos,
+                    latencias.percentile(50) / 1e3, latencias.percentile(95) / 1e3, latencias.percentile(99) / 1e3,
+                    latencias.percentile(99.9) / 1e3, latencias.max() / 1e3);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("options", options);
+        json.put("mix", pesos);
+        json.put("operations", operacoes);
+        Path out = Path.of(options.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), json);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Derived finders of ArquivoRecadastramentoEstadoRepository, called on the Spring Data proxy.
+ *
+ * Note: findByAnoBase and findByBairro return rows / ANOS and rows / BAIRROS.length entities, so
+ * at 1M rows they measure entity materialization as much as the index lookup; findByCnpj returns
+ * one row and isolates the lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecadastramentoRepositoryBenchmark {
+
+    private final SyntheticData data = new SyntheticData(Thread.currentThread().threadId());
+
+    @Benchmark
+    public List<ArquivoRecadastramentoEstado> findByAnoBase(BenchmarkDatabase db) {
+        return db.recadastramentoRepository.findByAnoBase(data.ano());
+    }
+
+    @Benchmark
+    public List<ArquivoRecadastramentoEstado> findByBairro(BenchmarkDatabase db) {
+        return db.recadastramentoRepository.findByBairro(data.bairro());
+    }
+
+    @Benchmark
+    public List<ArquivoRecadastramentoEstado> findByCnpj(BenchmarkDatabase db) {
+        return db.recadastramentoRepository.findByCnpj(db.cnpjs[data.nextInt(db.cnpjs.length)]);
+    }
+}
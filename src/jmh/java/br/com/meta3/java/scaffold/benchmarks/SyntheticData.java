@@ -0,0 +1,115 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of realistic-looking Arquivo and ArquivoRecadastramentoEstado rows.
+ *
+ * Design notes:
+ * - Value distributions drive the selectivity of the finders being measured: ESCOLAS schools,
+ *   ANOS years and BAIRROS.length neighbourhoods, uniformly distributed; CNPJs are practically unique.
+ * - Two generators with the same seed produce the same sequence, so a benchmark can replay the
+ *   values that were loaded (e.g., to look up existing CNPJs) without keeping them in memory.
+ * - Not thread-safe; use one instance per thread.
+ */
+final class SyntheticData {
+
+    static final int ESCOLAS = 200;
+    static final int PRIMEIRO_ANO = 2015;
+    static final int ANOS = 11;
+
+    static final String[] BAIRROS = bairros();
+
+    private static final String[] NOMES = {"Maria", "José", "Ana", "João", "Antônio", "Francisca", "Carlos", "Paulo",
+            "Lucas", "Luiz", "Juliana", "Márcia", "Pedro", "Fernanda", "Rafael", "Aline"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Melo"};
+    private static final LocalDate PRIMEIRA_DATA = LocalDate.of(PRIMEIRO_ANO, 1, 1);
+    private static final int DIAS = ANOS * 365;
+
+    private final SplittableRandom random;
+
+    SyntheticData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * New Arquivo summary (no id), valid for the Create group.
+     */
+    ArquivoDto arquivo() {
+        int registros = random.nextInt(10, 5_000);
+        int aptos = random.nextInt(registros + 1);
+        int semDocumento = random.nextInt(registros - aptos + 1);
+        int comErro = random.nextInt(registros - aptos - semDocumento + 1);
+        return new ArquivoDto(null, "recadastramento-" + random.nextInt(1_000_000) + ".txt", registros, aptos,
+                semDocumento, random.nextInt(aptos + 1), comErro, ano(), escola());
+    }
+
+    /**
+     * Recadastramento row with the given sequence number as codigo.
+     */
+    ArquivoRecadastramentoEstado recadastramento(long sequencia) {
+        ArquivoRecadastramentoEstado entity = new ArquivoRecadastramentoEstado();
+        entity.setCodigo(codigo(sequencia));
+        entity.setCodigoSec("SEC" + random.nextInt(100_000));
+        entity.setDataMovimentacao(PRIMEIRA_DATA.plusDays(random.nextInt(DIAS)));
+        entity.setAnoBase(ano());
+        entity.setNome(NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]);
+        entity.setCnpj(cnpj());
+        entity.setBairro(bairro());
+        return entity;
+    }
+
+    static String codigo(long sequencia) {
+        return String.format("R%012d", sequencia);
+    }
+
+    String escola() {
+        return String.valueOf(100_000 + random.nextInt(ESCOLAS));
+    }
+
+    String ano() {
+        return String.valueOf(PRIMEIRO_ANO + random.nextInt(ANOS));
+    }
+
+    String bairro() {
+        return BAIRROS[random.nextInt(BAIRROS.length)];
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Formatted CNPJ (NN.NNN.NNN/NNNN-NN); check digits are not computed.
+     */
+    private String cnpj() {
+        long digits = random.nextLong(10_000_000_000_000L, 100_000_000_000_000L);
+        String s = Long.toString(digits);
+        return s.substring(0, 2) + "." + s.substring(2, 5) + "." + s.substring(5, 8) + "/" + s.substring(8, 12)
+                + "-" + s.substring(12, 14);
+    }
+
+    private static String[] bairros() {
+        String[] prefixos = {"Jardim", "Vila", "Parque", "Conjunto", "Residencial", "Setor"};
+        String[] nomes = {"América", "Esperança", "das Flores", "São José", "Santa Rita", "Bela Vista", "Primavera",
+                "Aurora", "Industrial", "Universitário", "dos Pinheiros", "Alvorada", "Nova Esperança", "Boa Vista",
+                "São Francisco", "Santo Antônio", "das Palmeiras", "Planalto", "Monte Castelo", "Cidade Nova",
+                "Liberdade", "Progresso", "Ipiranga", "Redenção", "Recreio", "Tropical", "Paraíso", "Europa",
+                "Itália", "Maracanã", "Morumbi", "Copacabana", "Guanabara", "Pantanal", "Sertão", "Atlântico",
+                "Imperial", "Colonial", "Oriente", "Ocidente", "Aeroporto", "Estação", "Centro", "Campos Elíseos",
+                "Jaraguá", "Tijuca", "Botafogo", "Leblon", "Ipanema", "Flamengo"};
+        String[] bairros = new String[prefixos.length * nomes.length];
+        int i = 0;
+        for (String prefixo : prefixos) {
+            for (String nome : nomes) {
+                bairros[i++] = prefixo + " " + nome;
+            }
+        }
+        return bairros;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.meta3.java.scaffold.benchmarks;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bean Validation of valid DTOs with the groups the services use: ArquivoDto with Create and
+ * Update, ArquivoRecadastramentoEstadoDto with Default+Create and Update.
+ *
+ * The validator comes from the application's provider (Hibernate Validator), built without
+ * a Spring context; its metadata cache is warm after the warmup iterations, as in the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private ArquivoDto novoArquivo;
+    private ArquivoDto arquivoExistente;
+    private ArquivoRecadastramentoEstadoDto recadastramento;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        SyntheticData data = new SyntheticData(BenchmarkDatabase.SEED);
+        novoArquivo = data.arquivo();
+        arquivoExistente = data.arquivo();
+        arquivoExistente.setCodigoarquivo(1);
+        recadastramento = ArquivoRecadastramentoEstadoDto.fromEntity(data.recadastramento(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ArquivoDto>> arquivoCreate() {
+        return validator.validate(novoArquivo, ArquivoDto.Create.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ArquivoDto>> arquivoUpdate() {
+        return validator.validate(arquivoExistente, ArquivoDto.Update.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> recadastramentoCreate() {
+        return validator.validate(recadastramento, Default.class, ArquivoRecadastramentoEstadoDto.Create.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> recadastramentoUpdate() {
+        return validator.validate(recadastramento, ArquivoRecadastramentoEstadoDto.Update.class);
+    }
+}
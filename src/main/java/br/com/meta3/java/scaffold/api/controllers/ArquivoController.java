@@ -1,13 +1,28 @@
 package br.com.meta3.java.scaffold.api.controllers;
 
 import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoEstatisticasDto;
+import br.com.meta3.java.scaffold.api.dtos.PageDto;
+import br.com.meta3.java.scaffold.api.export.CsvExportWriter;
+import br.com.meta3.java.scaffold.api.export.ExportFormat;
+import br.com.meta3.java.scaffold.api.export.ExportWriter;
+import br.com.meta3.java.scaffold.application.analytics.ArquivoAnalyticsService;
+import br.com.meta3.java.scaffold.application.analytics.ArquivoFiltro;
+import br.com.meta3.java.scaffold.application.cache.ReadCache;
 import br.com.meta3.java.scaffold.application.services.ArquivoService;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
 import java.util.NoSuchElementException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,7 +31,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
@@ -24,8 +41,19 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
  *
  * Endpoints:
  * - GET  /api/arquivos          -> list all Arquivo
- * - GET  /api/arquivos/{id}     -> retrieve an Arquivo by id
+ * - GET  /api/arquivos?cursor=&limit= -> one page of Arquivo (keyset pagination on codigoarquivo)
+ * - GET  /api/arquivos/{id}     -> retrieve an Arquivo by id (served from a bounded read cache)
+ * - GET  /api/arquivos/cache    -> hit/miss/eviction counters of that cache
+ * - GET  /api/arquivos/escola/{codigoescola} -> Arquivo of a school (cached JSON, see QueryResultCache)
+ * - GET  /api/arquivos/ano/{anovigencia}     -> Arquivo of a year of validity (cached JSON)
+ * - GET  /api/arquivos/export   -> stream all Arquivo as NDJSON or CSV
+ * - GET  /api/arquivos/estatisticas?porEscola=&porAno= -> counter sums, optionally per school and per year
+ * - GET  /api/arquivos/estatisticas/resumo?anovigencia=&codigoescola= -> totals of one year and school
+ * - POST /api/arquivos/estatisticas/reconstruir -> regenerate the summary table from the arquivo table
+ * - GET  /api/arquivos/estatisticas/filtro?anovigencia=&codigoescola=&minAptos=&maxComerro=... -> sums
+ *   of any year/school/counter-range combination, answered from the in-memory columnar snapshot
  * - POST /api/arquivos          -> create a new Arquivo
+ * - POST /api/arquivos/batch    -> create many Arquivo in batched inserts
  *
  * Design notes:
  * - Validation groups are enforced inside ArquivoService (it uses the Jakarta Validator
@@ -34,39 +62,194 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
  *   (with groups) is performed in the service layer.
  * - On successful creation we return 201 Created with a Location header pointing to the new resource.
  * - Simple exception handlers translate common service exceptions to appropriate HTTP responses.
+ * - Read endpoints return ArquivoView projections (same JSON fields as ArquivoDto) so no managed
+ *   entities are loaded just to be serialized; writes keep using ArquivoDto.
  */
 @RestController
 @RequestMapping("/api/arquivos")
 public class ArquivoController {
 
+    private static final List<CsvExportWriter.Column<ArquivoView>> CSV_COLUMNS = List.of(
+            new CsvExportWriter.Column<>("codigoarquivo", ArquivoView::codigoarquivo),
+            new CsvExportWriter.Column<>("nomearquivo", ArquivoView::nomearquivo),
+            new CsvExportWriter.Column<>("quantidaderegistro", ArquivoView::quantidaderegistro),
+            new CsvExportWriter.Column<>("aptos", ArquivoView::aptos),
+            new CsvExportWriter.Column<>("semdocumento", ArquivoView::semdocumento),
+            new CsvExportWriter.Column<>("comcodigosetps", ArquivoView::comcodigosetps),
+            new CsvExportWriter.Column<>("comerro", ArquivoView::comerro),
+            new CsvExportWriter.Column<>("anovigencia", ArquivoView::anovigencia),
+            new CsvExportWriter.Column<>("codigoescola", ArquivoView::codigoescola));
+
     private final ArquivoService arquivoService;
+    private final ArquivoAnalyticsService analyticsService;
+    private final ObjectMapper objectMapper;
 
-    public ArquivoController(ArquivoService arquivoService) {
+    public ArquivoController(ArquivoService arquivoService, ArquivoAnalyticsService analyticsService,
+                             ObjectMapper objectMapper) {
         this.arquivoService = arquivoService;
+        this.analyticsService = analyticsService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * List all Arquivo records.
      *
-     * @return list of ArquivoDto
+     * @return list of ArquivoView
      */
     @GetMapping
-    public ResponseEntity<List<ArquivoDto>> listAll() {
-        List<ArquivoDto> list = arquivoService.findAll();
+    public ResponseEntity<List<ArquivoView>> listAll() {
+        List<ArquivoView> list = arquivoService.findAllViews();
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * Return one page of Arquivo ordered by codigoarquivo.
+     *
+     * Selected when a cursor parameter is present; an empty cursor requests the first page. Each
+     * response carries the nextCursor to request the following page (null on the last page).
+     *
+     * @param cursor opaque cursor from the previous page, or empty for the first page
+     * @param limit page size (1..1000, default 100)
+     * @return page of ArquivoView
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PageDto<ArquivoView>> listPage(@RequestParam("cursor") String cursor,
+                                                         @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        String after = PageDto.decodeCursor(cursor);
+        KeysetPage<ArquivoView, Integer> page = arquivoService.findPage(after == null ? null : Integer.valueOf(after), limit);
+        return ResponseEntity.ok(new PageDto<>(page.items(), PageDto.encodeCursor(page.nextKey()), limit));
+    }
+
+    /**
+     * Return the first page of Arquivo when only limit is given (same as cursor=).
+     */
+    @GetMapping(params = {"limit", "!cursor"})
+    public ResponseEntity<PageDto<ArquivoView>> listFirstPage(@RequestParam("limit") int limit) {
+        return listPage("", limit);
+    }
+
+    /**
+     * Stream every Arquivo to the response as it is read from the database.
+     *
+     * Rows are read through a JDBC cursor with a fetch size and written one at a time, so memory use
+     * does not depend on the table size. The body is produced on an MVC async thread once headers
+     * are sent; a failure midway therefore truncates the output instead of returning an error status.
+     *
+     * @param format ndjson (default) or csv
+     * @return 200 OK with the streamed rows
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<ArquivoView> writer = exportFormat.open(out, objectMapper, ArquivoView.class, CSV_COLUMNS)) {
+                arquivoService.exportAll(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"arquivos." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Return the sums of the Arquivo counters, aggregated by the database.
+     *
+     * @param porEscola include the roll-up per codigoescola
+     * @param porAno include the roll-up per anovigencia
+     * @return 200 OK with the totals and the requested roll-ups
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<ArquivoEstatisticasDto> estatisticas(@RequestParam(name = "porEscola", defaultValue = "false") boolean porEscola,
+                                                              @RequestParam(name = "porAno", defaultValue = "false") boolean porAno) {
+        return ResponseEntity.ok(arquivoService.estatisticas(porEscola, porAno));
+    }
+
+    /**
+     * Return the totals of one (anovigencia, codigoescola) group from the summary table.
+     *
+     * @param anovigencia year of validity (empty for Arquivo without a year)
+     * @param codigoescola school code (empty for Arquivo without a school)
+     * @return 200 OK with the totals (zeros when the group has no Arquivo)
+     */
+    @GetMapping("/estatisticas/resumo")
+    public ResponseEntity<ArquivoEstatistica> resumo(@RequestParam(name = "anovigencia", defaultValue = "") String anovigencia,
+                                                     @RequestParam(name = "codigoescola", defaultValue = "") String codigoescola) {
+        return ResponseEntity.ok(arquivoService.resumo(anovigencia, codigoescola));
+    }
+
+    /**
+     * Count the Arquivo matching any combination of year, school and counter bounds and sum their counters.
+     *
+     * Request parameters bind to ArquivoFiltro (anovigencia, codigoescola, minAptos, maxAptos, ...);
+     * omitted parameters do not filter. The first call after a write rebuilds the snapshot.
+     *
+     * @param filtro filter bound from the query string
+     * @return 200 OK with the totals of the matching Arquivo
+     */
+    @GetMapping("/estatisticas/filtro")
+    public ResponseEntity<ArquivoEstatistica> filtrar(ArquivoFiltro filtro) {
+        return ResponseEntity.ok(analyticsService.sum(filtro));
+    }
+
+    /**
+     * Regenerate the summary table from the arquivo table.
+     *
+     * @return 200 OK with the number of groups written, 409 Conflict when a concurrent Arquivo change
+     *         conflicted with the rebuild
+     */
+    @PostMapping("/estatisticas/reconstruir")
+    public ResponseEntity<Integer> rebuildResumo() {
+        return ResponseEntity.ok(arquivoService.rebuildResumo());
+    }
+
+    /**
+     * List the Arquivo of a school.
+     *
+     * The JSON comes from the query result cache; it is regenerated after any Arquivo write.
+     *
+     * @param codigoescola school code
+     * @return 200 OK with a JSON array of ArquivoDto
+     */
+    @GetMapping("/escola/{codigoescola}")
+    public ResponseEntity<byte[]> listByCodigoescola(@PathVariable("codigoescola") String codigoescola) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(arquivoService.findByCodigoescolaJson(codigoescola));
+    }
+
+    /**
+     * List the Arquivo of a year of validity (cached JSON, see listByCodigoescola).
+     *
+     * @param anovigencia year string
+     * @return 200 OK with a JSON array of ArquivoDto
+     */
+    @GetMapping("/ano/{anovigencia}")
+    public ResponseEntity<byte[]> listByAnovigencia(@PathVariable("anovigencia") String anovigencia) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(arquivoService.findByAnovigenciaJson(anovigencia));
+    }
+
+    /**
+     * Return the counters of the getById cache.
+     *
+     * @return 200 OK with hits, misses, evictions and expirations
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<ReadCache.Stats> cacheStats() {
+        return ResponseEntity.ok(arquivoService.cacheStats());
+    }
+
     /**
      * Retrieve an Arquivo by id.
      *
      * @param id primary key
-     * @return ArquivoDto if found or 404 Not Found
+     * @return ArquivoView if found or 404 Not Found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ArquivoDto> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<ArquivoView> getById(@PathVariable("id") Integer id) {
         try {
-            ArquivoDto dto = arquivoService.findById(id);
-            return ResponseEntity.ok(dto);
+            ArquivoView view = arquivoService.findViewById(id);
+            return ResponseEntity.ok(view);
         } catch (NoSuchElementException ex) {
             // Translated by handler below as well; keeping local translation for clarity.
             return ResponseEntity.notFound().build();
@@ -97,6 +280,20 @@ public class ArquivoController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /**
+     * Create many Arquivo records in one request.
+     *
+     * Note: The service validates every element (ids must be null) before inserting anything.
+     *
+     * @param dtos incoming ArquivoDto list (create semantics)
+     * @return 201 Created with the created DTOs (generated ids) in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ArquivoDto>> createBatch(@RequestBody List<ArquivoDto> dtos) {
+        List<ArquivoDto> created = arquivoService.createAll(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     // --- Exception handlers ---
 
     /**
@@ -131,4 +328,12 @@ public class ArquivoController {
     public ResponseEntity<String> handleNotFound(NoSuchElementException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    /**
+     * Handle a summary rebuild that conflicted with a concurrent Arquivo change; the client may retry.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Concurrent update, retry the request");
+    }
 }
@@ -0,0 +1,140 @@
+package br.com.meta3.java.scaffold.api.controllers;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportJobDto;
+import br.com.meta3.java.scaffold.application.services.ImportJobScheduler;
+import jakarta.validation.ConstraintViolationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * REST controller exposing checkpointed recadastramento import jobs.
+ *
+ * Endpoints:
+ * - POST /api/importacoes                         -> upload a fixed-width file and queue it as a resumable job
+ * - POST /api/importacoes/{codigoarquivo}/retomar -> queue a job to resume from its last committed checkpoints
+ * - GET  /api/importacoes/{codigoarquivo}         -> job status and progress of every range (for polling)
+ *
+ * Design notes:
+ * - A job is identified by the codigoarquivo of the Arquivo summary it fills.
+ * - Jobs run in the background (see ImportJobScheduler): the POST endpoints return 202 Accepted
+ *   with a Location header to poll, so the servlet thread is only held while the body is uploaded.
+ * - The uploaded file is kept in the import directory until the job completes so a failed or
+ *   interrupted job can be resumed without uploading it again.
+ * - Exception handlers mirror conventions used in ArquivoController; resuming a job that is
+ *   already running is reported as 409 Conflict and a full job queue as 503 Service Unavailable.
+ */
+@RestController
+@RequestMapping("/api/importacoes")
+public class ArquivoImportacaoController {
+
+    private final ImportJobScheduler scheduler;
+
+    public ArquivoImportacaoController(ImportJobScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Upload a legacy fixed-width file and queue it as a checkpointed job.
+     *
+     * @param body raw request body in the fixed-width layout (ISO-8859-1)
+     * @param nomeArquivo name recorded in the Arquivo summary
+     * @param anovigencia optional year of validity recorded in the summary
+     * @param codigoescola optional school code recorded in the summary
+     * @return 202 Accepted with the queued job and a Location header to poll
+     */
+    @PostMapping(consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportJobDto> submit(InputStream body,
+                                                  @RequestParam(name = "nomeArquivo", defaultValue = "recadastramento") String nomeArquivo,
+                                                  @RequestParam(name = "anovigencia", defaultValue = "") String anovigencia,
+                                                  @RequestParam(name = "codigoescola", defaultValue = "") String codigoescola)
+            throws IOException {
+        ArquivoDto summary = new ArquivoDto();
+        summary.setNomearquivo(nomeArquivo);
+        summary.setAnovigencia(anovigencia);
+        summary.setCodigoescola(codigoescola);
+        ImportJobDto job = scheduler.submit(body, summary);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{codigoarquivo}")
+                .buildAndExpand(job.getCodigoarquivo())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Queue a job to resume; ranges already completed are skipped and the others restart at their checkpoint.
+     *
+     * @param codigoarquivo Arquivo filled by the job
+     * @return 202 Accepted with the queued job
+     */
+    @PostMapping("/{codigoarquivo}/retomar")
+    public ResponseEntity<ImportJobDto> resume(@PathVariable("codigoarquivo") Integer codigoarquivo) {
+        return ResponseEntity.accepted().body(scheduler.resume(codigoarquivo));
+    }
+
+    /**
+     * Return the status of a job and the checkpoints of its ranges.
+     *
+     * @param codigoarquivo Arquivo filled by the job
+     * @return 200 OK with the job status, or 404 Not Found
+     */
+    @GetMapping("/{codigoarquivo}")
+    public ResponseEntity<ImportJobDto> getByCodigoarquivo(@PathVariable("codigoarquivo") Integer codigoarquivo) {
+        return ResponseEntity.ok(scheduler.findById(codigoarquivo));
+    }
+
+    // --- Exception handlers ---
+
+    /**
+     * Handle validation failures of the summary header.
+     */
+    @ExceptionHandler({ConstraintViolationException.class, TransactionSystemException.class})
+    public ResponseEntity<String> handleValidationException(Exception ex) {
+        String message = ex.getMessage();
+        if (ex instanceof TransactionSystemException && ex.getCause() != null) {
+            message = ex.getCause().getMessage();
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNotFound(NoSuchElementException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    /**
+     * Handle a resume of a job that is already queued or running.
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Handle a submission while too many jobs are waiting.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+}
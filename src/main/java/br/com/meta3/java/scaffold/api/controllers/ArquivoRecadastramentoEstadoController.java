@@ -1,13 +1,39 @@
 package br.com.meta3.java.scaffold.api.controllers;
 
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.BatchResultDto;
 import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportResultDto;
+import br.com.meta3.java.scaffold.api.dtos.PageDto;
+import br.com.meta3.java.scaffold.api.export.CsvExportWriter;
+import br.com.meta3.java.scaffold.api.export.ExportFormat;
+import br.com.meta3.java.scaffold.api.export.ExportWriter;
+import br.com.meta3.java.scaffold.application.cache.ReadCache;
+import br.com.meta3.java.scaffold.application.search.CampoBusca;
+import br.com.meta3.java.scaffold.application.search.RecadastramentoSearchIndex;
+import br.com.meta3.java.scaffold.application.services.ArquivoRecadastramentoEstadoImportService;
 import br.com.meta3.java.scaffold.application.services.ArquivoRecadastramentoEstadoService;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import br.com.meta3.java.scaffold.domain.repositories.DataMovimentacaoKey;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,7 +42,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
@@ -24,46 +52,268 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
  *
  * Endpoints:
  * - GET  /api/recadastramento-estado          -> list all records
- * - GET  /api/recadastramento-estado/{codigo} -> retrieve a record by codigo (natural key)
+ * - GET  /api/recadastramento-estado?cursor=&limit= -> one page of records (keyset pagination on codigo)
+ * - GET  /api/recadastramento-estado/{codigo} -> retrieve a record by codigo (natural key, served from a read cache)
+ * - GET  /api/recadastramento-estado/cache    -> hit/miss/eviction counters of that cache
+ * - GET  /api/recadastramento-estado/ano-base/{anoBase} -> records of a base year (cached JSON, see QueryResultCache)
+ * - GET  /api/recadastramento-estado/cnpj?cnpj=         -> records of a CNPJ (cached JSON)
+ * - GET  /api/recadastramento-estado/bairro/{bairro}    -> records of a neighbourhood (cached JSON)
+ * - GET  /api/recadastramento-estado/busca?q=&campo=&limit= -> partial nome/bairro search (trigram index)
+ * - GET  /api/recadastramento-estado/export   -> stream all records as NDJSON or CSV
+ * - GET  /api/recadastramento-estado/movimentacao?inicio=&fim=&cursor=&limit= -> one page of the records moved in a date range
+ * - GET  /api/recadastramento-estado/movimentacao/export?inicio=&fim= -> stream the records moved in a date range
  * - POST /api/recadastramento-estado          -> create a new record
+ * - POST /api/recadastramento-estado/batch    -> create or overwrite many records in batched statements
+ * - POST /api/recadastramento-estado/import   -> stream a delimited file into batched inserts
+ * - POST /api/recadastramento-estado/import/fixed-width -> import a legacy fixed-width file
  *
  * Design notes:
  * - Uses ArquivoRecadastramentoEstadoService for business logic and validation.
  * - On successful creation returns 201 Created with Location header pointing to the new resource.
  * - Exception handlers mirror conventions used in ArquivoController to translate common service exceptions.
+ * - Read endpoints return ArquivoRecadastramentoEstadoView projections (same JSON fields as the DTO).
  */
 @RestController
 @RequestMapping("/api/recadastramento-estado")
 public class ArquivoRecadastramentoEstadoController {
 
+    private static final List<CsvExportWriter.Column<ArquivoRecadastramentoEstadoView>> CSV_COLUMNS = List.of(
+            new CsvExportWriter.Column<>("codigo", ArquivoRecadastramentoEstadoView::codigo),
+            new CsvExportWriter.Column<>("codigoSec", ArquivoRecadastramentoEstadoView::codigoSec),
+            new CsvExportWriter.Column<>("dataMovimentacao", ArquivoRecadastramentoEstadoView::dataMovimentacao),
+            new CsvExportWriter.Column<>("anoBase", ArquivoRecadastramentoEstadoView::anoBase),
+            new CsvExportWriter.Column<>("nome", ArquivoRecadastramentoEstadoView::nome),
+            new CsvExportWriter.Column<>("cnpj", ArquivoRecadastramentoEstadoView::cnpj),
+            new CsvExportWriter.Column<>("bairro", ArquivoRecadastramentoEstadoView::bairro));
+
     private final ArquivoRecadastramentoEstadoService service;
+    private final ArquivoRecadastramentoEstadoImportService importService;
+    private final ObjectMapper objectMapper;
+    private final RecadastramentoSearchIndex searchIndex;
 
-    public ArquivoRecadastramentoEstadoController(ArquivoRecadastramentoEstadoService service) {
+    public ArquivoRecadastramentoEstadoController(ArquivoRecadastramentoEstadoService service,
+                                                  ArquivoRecadastramentoEstadoImportService importService,
+                                                  ObjectMapper objectMapper,
+                                                  RecadastramentoSearchIndex searchIndex) {
         this.service = service;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+        this.searchIndex = searchIndex;
     }
 
     /**
      * List all ArquivoRecadastramentoEstado records.
      *
-     * @return list of DTOs
+     * @return list of views
      */
     @GetMapping
-    public ResponseEntity<List<ArquivoRecadastramentoEstadoDto>> listAll() {
-        List<ArquivoRecadastramentoEstadoDto> list = service.findAll();
+    public ResponseEntity<List<ArquivoRecadastramentoEstadoView>> listAll() {
+        List<ArquivoRecadastramentoEstadoView> list = service.findAllViews();
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * Return one page of records ordered by codigo.
+     *
+     * Selected when a cursor parameter is present; an empty cursor requests the first page. Each
+     * response carries the nextCursor to request the following page (null on the last page).
+     *
+     * @param cursor opaque cursor from the previous page, or empty for the first page
+     * @param limit page size (1..1000, default 100)
+     * @return page of views
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PageDto<ArquivoRecadastramentoEstadoView>> listPage(@RequestParam("cursor") String cursor,
+                                                                              @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<ArquivoRecadastramentoEstadoView, String> page = service.findPage(PageDto.decodeCursor(cursor), limit);
+        return ResponseEntity.ok(new PageDto<>(page.items(), PageDto.encodeCursor(page.nextKey()), limit));
+    }
+
+    /**
+     * Return the first page of records when only limit is given (same as cursor=).
+     */
+    @GetMapping(params = {"limit", "!cursor"})
+    public ResponseEntity<PageDto<ArquivoRecadastramentoEstadoView>> listFirstPage(@RequestParam("limit") int limit) {
+        return listPage("", limit);
+    }
+
+    /**
+     * Stream every record to the response as it is read from the database.
+     *
+     * Rows are read through a JDBC cursor with a fetch size and written one at a time, so memory use
+     * does not depend on the table size. A failure midway truncates the output (headers are
+     * already sent).
+     *
+     * Note: the literal /export mapping takes precedence over /{codigo}.
+     *
+     * @param format ndjson (default) or csv
+     * @return 200 OK with the streamed rows
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<ArquivoRecadastramentoEstadoView> writer =
+                         exportFormat.open(out, objectMapper, ArquivoRecadastramentoEstadoView.class, CSV_COLUMNS)) {
+                service.exportAll(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"recadastramento-estado." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Return one page of the records moved between two dates (inclusive), ordered by date and codigo.
+     *
+     * @param inicio first date (ISO yyyy-MM-dd)
+     * @param fim last date (ISO yyyy-MM-dd), defaults to inicio (a single day)
+     * @param cursor opaque cursor from the previous page, or empty/absent for the first page
+     * @param limit page size (1..1000, default 100)
+     * @return page of views, or 400 Bad Request for a reversed range
+     */
+    @GetMapping("/movimentacao")
+    public ResponseEntity<PageDto<ArquivoRecadastramentoEstadoView>> listByDataMovimentacao(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(name = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(name = "cursor", defaultValue = "") String cursor,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<ArquivoRecadastramentoEstadoView, DataMovimentacaoKey> page = service.findPageByDataMovimentacao(
+                inicio, fim != null ? fim : inicio, decodeDataMovimentacaoCursor(cursor), limit);
+        DataMovimentacaoKey next = page.nextKey();
+        String nextCursor = next == null ? null : PageDto.encodeCursor(next.dataMovimentacao() + "/" + next.codigo());
+        return ResponseEntity.ok(new PageDto<>(page.items(), nextCursor, limit));
+    }
+
+    /**
+     * Decode a /movimentacao cursor: the date and codigo of the last row, as "yyyy-MM-dd/codigo".
+     */
+    private static DataMovimentacaoKey decodeDataMovimentacaoCursor(String cursor) {
+        String key = PageDto.decodeCursor(cursor);
+        if (key == null) {
+            return null;
+        }
+        int slash = key.indexOf('/');
+        try {
+            return new DataMovimentacaoKey(LocalDate.parse(key.substring(0, Math.max(slash, 0))), key.substring(slash + 1));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Stream the records moved between two dates (inclusive), ordered by date and codigo.
+     *
+     * Intended for incremental (e.g., daily) reports: only the rows of the range are read, through
+     * the data_movimentacao index.
+     *
+     * @param inicio first date (ISO yyyy-MM-dd)
+     * @param fim last date (ISO yyyy-MM-dd), defaults to inicio (a single day)
+     * @param format ndjson (default) or csv
+     * @return 200 OK with the streamed rows
+     */
+    @GetMapping("/movimentacao/export")
+    public ResponseEntity<StreamingResponseBody> exportByDataMovimentacao(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(name = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        LocalDate ate = fim != null ? fim : inicio;
+        // Checked before streaming starts so the client gets a 400 instead of a truncated body.
+        service.checkDataMovimentacaoRange(inicio, ate);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<ArquivoRecadastramentoEstadoView> writer =
+                         exportFormat.open(out, objectMapper, ArquivoRecadastramentoEstadoView.class, CSV_COLUMNS)) {
+                service.exportByDataMovimentacao(inicio, ate, writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"recadastramento-estado-" + inicio + "_" + ate + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * List the records of a base year.
+     *
+     * The JSON comes from the query result cache; it is regenerated after any write to the table
+     * (including each committed import batch).
+     *
+     * @param anoBase year string
+     * @return 200 OK with a JSON array of DTOs
+     */
+    @GetMapping("/ano-base/{anoBase}")
+    public ResponseEntity<byte[]> listByAnoBase(@PathVariable("anoBase") String anoBase) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.findByAnoBaseJson(anoBase));
+    }
+
+    /**
+     * List the records of a CNPJ (exact match, cached JSON).
+     *
+     * Note: a query parameter rather than a path segment, because formatted CNPJs contain '/'.
+     *
+     * @param cnpj cnpj string
+     * @return 200 OK with a JSON array of DTOs
+     */
+    @GetMapping("/cnpj")
+    public ResponseEntity<byte[]> listByCnpj(@RequestParam("cnpj") String cnpj) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.findByCnpjJson(cnpj));
+    }
+
+    /**
+     * List the records of a neighbourhood (exact match, cached JSON).
+     *
+     * @param bairro neighbourhood string
+     * @return 200 OK with a JSON array of DTOs
+     */
+    @GetMapping("/bairro/{bairro}")
+    public ResponseEntity<byte[]> listByBairro(@PathVariable("bairro") String bairro) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.findByBairroJson(bairro));
+    }
+
+    /**
+     * Search records whose nome and/or bairro contain the query (case- and accent-insensitive).
+     *
+     * Results come best first: exact match, prefix, word start, anywhere.
+     *
+     * @param q text to find, at least 3 characters
+     * @param campo nome, bairro or todos (default)
+     * @param limit maximum number of results (1..RecadastramentoSearchIndex.MAX_LIMIT)
+     * @return 200 OK with the matching views, or 400 Bad Request for a short query or bad parameter
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<ArquivoRecadastramentoEstadoView>> search(@RequestParam("q") String q,
+                                                                         @RequestParam(name = "campo", defaultValue = "todos") String campo,
+                                                                         @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, CampoBusca.fromParameter(campo), limit));
+    }
+
+    /**
+     * Return the counters of the getByCodigo cache.
+     *
+     * Note: like /export, the literal /cache mapping takes precedence over /{codigo}.
+     *
+     * @return 200 OK with hits, misses, evictions and expirations
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<ReadCache.Stats> cacheStats() {
+        return ResponseEntity.ok(service.cacheStats());
+    }
+
     /**
      * Retrieve a record by its natural key 'codigo'.
      *
      * @param codigo natural identifier
-     * @return DTO if found or 404 Not Found
+     * @return view if found or 404 Not Found
      */
     @GetMapping("/{codigo}")
-    public ResponseEntity<ArquivoRecadastramentoEstadoDto> getByCodigo(@PathVariable("codigo") String codigo) {
+    public ResponseEntity<ArquivoRecadastramentoEstadoView> getByCodigo(@PathVariable("codigo") String codigo) {
         try {
-            ArquivoRecadastramentoEstadoDto dto = service.findById(codigo);
-            return ResponseEntity.ok(dto);
+            ArquivoRecadastramentoEstadoView view = service.findViewById(codigo);
+            return ResponseEntity.ok(view);
         } catch (NoSuchElementException ex) {
             // Also handled by the global handler below; returning 404 here for clarity.
             return ResponseEntity.notFound().build();
@@ -92,6 +342,87 @@ public class ArquivoRecadastramentoEstadoController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /**
+     * Create or overwrite many records in one request (upsert by codigo).
+     *
+     * Unlike POST /, existing codigos are overwritten instead of rejected. The service validates
+     * every element before writing, so an invalid element returns 400 and nothing is stored.
+     *
+     * @param dtos records to write
+     * @return 200 OK with the number of written rows
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> upsertBatch(@RequestBody List<ArquivoRecadastramentoEstadoDto> dtos) {
+        int written = service.upsertAll(dtos);
+        return ResponseEntity.ok(new BatchResultDto(dtos.size(), written));
+    }
+
+    /**
+     * Import a delimited recadastramento file sent as the raw request body.
+     *
+     * The body is consumed as a stream (never buffered as a whole) and persisted in batches.
+     * Rows that fail parsing, validation or insertion are counted and reported, they do not abort
+     * the import. The Arquivo summary row is created at the end with the counters computed while
+     * streaming.
+     *
+     * @param body raw request body, one record per line
+     * @param charset charset of the file; legacy exports use ISO-8859-1
+     * @param nomeArquivo name recorded in the Arquivo summary
+     * @param anovigencia optional year of validity recorded in the summary
+     * @param codigoescola optional school code recorded in the summary
+     * @return 200 OK with the import counters and the Arquivo summary
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportResultDto> importFile(InputStream body,
+                                                      @RequestParam(name = "charset", defaultValue = "ISO-8859-1") String charset,
+                                                      @RequestParam(name = "nomeArquivo", defaultValue = "recadastramento") String nomeArquivo,
+                                                      @RequestParam(name = "anovigencia", defaultValue = "") String anovigencia,
+                                                      @RequestParam(name = "codigoescola", defaultValue = "") String codigoescola)
+            throws IOException {
+        ArquivoDto summary = summaryHeader(nomeArquivo, anovigencia, codigoescola);
+        ImportResultDto result = importService.importDelimited(body, Charset.forName(charset), summary);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Import a legacy fixed-width recadastramento file sent as the raw request body.
+     *
+     * The memory-mapped parser needs a file, so the body is first streamed to a temporary file
+     * (constant memory) which is deleted once the import finishes.
+     *
+     * @param body raw request body in the fixed-width layout (ISO-8859-1)
+     * @param nomeArquivo name recorded in the Arquivo summary
+     * @param anovigencia optional year of validity recorded in the summary
+     * @param codigoescola optional school code recorded in the summary
+     * @return 200 OK with the import counters and the Arquivo summary
+     */
+    @PostMapping(path = "/import/fixed-width", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportResultDto> importFixedWidthFile(InputStream body,
+                                                                @RequestParam(name = "nomeArquivo", defaultValue = "recadastramento") String nomeArquivo,
+                                                                @RequestParam(name = "anovigencia", defaultValue = "") String anovigencia,
+                                                                @RequestParam(name = "codigoescola", defaultValue = "") String codigoescola)
+            throws IOException {
+        Path file = Files.createTempFile("recadastramento-", ".txt");
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            ArquivoDto summary = summaryHeader(nomeArquivo, anovigencia, codigoescola);
+            return ResponseEntity.ok(importService.importFixedWidth(file, summary));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Build the Arquivo summary header for an import; the counters are filled by the import service.
+     */
+    private static ArquivoDto summaryHeader(String nomeArquivo, String anovigencia, String codigoescola) {
+        ArquivoDto summary = new ArquivoDto();
+        summary.setNomearquivo(nomeArquivo);
+        summary.setAnovigencia(anovigencia);
+        summary.setCodigoescola(codigoescola);
+        return summary;
+    }
+
     // --- Exception handlers ---
 
     /**
@@ -111,6 +442,9 @@ public class ArquivoRecadastramentoEstadoController {
 
     /**
      * Handle illegal arguments from the service (e.g., duplicate codigo on create).
+     *
+     * Also covers unknown charset names on import (IllegalCharsetNameException and
+     * UnsupportedCharsetException are IllegalArgumentExceptions).
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
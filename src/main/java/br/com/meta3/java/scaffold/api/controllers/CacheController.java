@@ -0,0 +1,32 @@
+package br.com.meta3.java.scaffold.api.controllers;
+
+import br.com.meta3.java.scaffold.application.cache.QueryResultCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the counters of the shared query result cache.
+ *
+ * Endpoints:
+ * - GET /api/caches/consultas -> entries, bytes, hits, misses, evictions and invalidations
+ *
+ * The per-resource read caches report their counters under /api/arquivos/cache and
+ * /api/recadastramento-estado/cache.
+ */
+@RestController
+@RequestMapping("/api/caches")
+public class CacheController {
+
+    private final QueryResultCache queryResultCache;
+
+    public CacheController(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    @GetMapping("/consultas")
+    public ResponseEntity<QueryResultCache.Stats> queryResultStats() {
+        return ResponseEntity.ok(queryResultCache.stats());
+    }
+}
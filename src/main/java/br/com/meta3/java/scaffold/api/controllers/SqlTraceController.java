@@ -0,0 +1,45 @@
+package br.com.meta3.java.scaffold.api.controllers;
+
+import br.com.meta3.java.scaffold.application.diagnostics.SqlTraceBuffer;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the sampled SQL trace (see SqlTraceBuffer).
+ *
+ * Endpoints:
+ * - GET /api/sql-trace?limit=100&lentos=false -> kept statements, newest first (lentos=true: slow only)
+ * - GET /api/sql-trace/stats                  -> statement, sampled, slow and error counters and settings
+ */
+@RestController
+@RequestMapping("/api/sql-trace")
+public class SqlTraceController {
+
+    private final SqlTraceBuffer sqlTraceBuffer;
+
+    public SqlTraceController(SqlTraceBuffer sqlTraceBuffer) {
+        this.sqlTraceBuffer = sqlTraceBuffer;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SqlTraceBuffer.Entry>> recent(@RequestParam(name = "limit", defaultValue = "100") int limit,
+                                                             @RequestParam(name = "lentos", defaultValue = "false") boolean lentos) {
+        return ResponseEntity.ok(sqlTraceBuffer.recent(limit, lentos));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<SqlTraceBuffer.Stats> stats() {
+        return ResponseEntity.ok(sqlTraceBuffer.stats());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+}
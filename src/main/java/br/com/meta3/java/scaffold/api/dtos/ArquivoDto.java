@@ -1,10 +1,12 @@
 package br.com.meta3.java.scaffold.api.dtos;
 
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.io.Serializable;
 
@@ -64,8 +66,9 @@ public class ArquivoDto implements Serializable {
     @Min(0)
     private Integer comerro;
 
-    // Optional textual fields.
+    // Optional textual fields. anovigencia is blank or a 4-digit year (stored as SMALLINT).
     @Size(max = 10)
+    @Pattern(regexp = AnoConverter.REGEXP, message = "must be a 4-digit year (1000-9999) or empty")
     private String anovigencia = "";
 
     @Size(max = 50)
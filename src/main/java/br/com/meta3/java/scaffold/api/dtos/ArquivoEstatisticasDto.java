@@ -0,0 +1,57 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API Data Transfer Object with aggregated Arquivo counters.
+ *
+ * Design notes:
+ * - total is always present; porEscola and porAno hold the roll-ups by codigoescola and by
+ *   anovigencia and stay empty unless requested.
+ * - Every figure is computed by the database, so the payload size depends on the number of
+ *   groups and not on the number of Arquivo rows.
+ */
+public class ArquivoEstatisticasDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ArquivoEstatistica total;
+    private List<ArquivoEstatistica> porEscola = new ArrayList<>();
+    private List<ArquivoEstatistica> porAno = new ArrayList<>();
+
+    public ArquivoEstatisticasDto() {
+    }
+
+    public ArquivoEstatisticasDto(ArquivoEstatistica total) {
+        this.total = total;
+    }
+
+    // Getters and setters
+
+    public ArquivoEstatistica getTotal() {
+        return total;
+    }
+
+    public void setTotal(ArquivoEstatistica total) {
+        this.total = total;
+    }
+
+    public List<ArquivoEstatistica> getPorEscola() {
+        return porEscola;
+    }
+
+    public void setPorEscola(List<ArquivoEstatistica> porEscola) {
+        this.porEscola = porEscola;
+    }
+
+    public List<ArquivoEstatistica> getPorAno() {
+        return porAno;
+    }
+
+    public void setPorAno(List<ArquivoEstatistica> porAno) {
+        this.porAno = porAno;
+    }
+}
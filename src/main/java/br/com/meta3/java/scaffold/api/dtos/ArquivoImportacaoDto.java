@@ -0,0 +1,142 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * API Data Transfer Object exposing the progress of one partition of an import job.
+ *
+ * Read-only view: checkpoints are written exclusively by the import pipeline.
+ */
+public class ArquivoImportacaoDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer codigoarquivo;
+    private Integer particao;
+    private Long inicio;
+    private Long fim;
+    private Long offsetConfirmado;
+    private Long registros;
+    private Long comerro;
+    private String status;
+    private Instant atualizadoEm;
+
+    public ArquivoImportacaoDto() {
+    }
+
+    public ArquivoImportacaoDto(Integer codigoarquivo,
+                                Integer particao,
+                                Long inicio,
+                                Long fim,
+                                Long offsetConfirmado,
+                                Long registros,
+                                Long comerro,
+                                String status,
+                                Instant atualizadoEm) {
+        this.codigoarquivo = codigoarquivo;
+        this.particao = particao;
+        this.inicio = inicio;
+        this.fim = fim;
+        this.offsetConfirmado = offsetConfirmado;
+        this.registros = registros;
+        this.comerro = comerro;
+        this.status = status;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    // Getters and setters
+
+    public Integer getCodigoarquivo() {
+        return codigoarquivo;
+    }
+
+    public void setCodigoarquivo(Integer codigoarquivo) {
+        this.codigoarquivo = codigoarquivo;
+    }
+
+    public Integer getParticao() {
+        return particao;
+    }
+
+    public void setParticao(Integer particao) {
+        this.particao = particao;
+    }
+
+    public Long getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(Long inicio) {
+        this.inicio = inicio;
+    }
+
+    public Long getFim() {
+        return fim;
+    }
+
+    public void setFim(Long fim) {
+        this.fim = fim;
+    }
+
+    public Long getOffsetConfirmado() {
+        return offsetConfirmado;
+    }
+
+    public void setOffsetConfirmado(Long offsetConfirmado) {
+        this.offsetConfirmado = offsetConfirmado;
+    }
+
+    public Long getRegistros() {
+        return registros;
+    }
+
+    public void setRegistros(Long registros) {
+        this.registros = registros;
+    }
+
+    public Long getComerro() {
+        return comerro;
+    }
+
+    public void setComerro(Long comerro) {
+        this.comerro = comerro;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    /**
+     * Create a DTO from a domain entity.
+     */
+    public static ArquivoImportacaoDto fromEntity(ArquivoImportacao entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new ArquivoImportacaoDto(
+                entity.getCodigoarquivo(),
+                entity.getParticao(),
+                entity.getInicio(),
+                entity.getFim(),
+                entity.getOffsetConfirmado(),
+                entity.getRegistros(),
+                entity.getComerro(),
+                entity.getStatus(),
+                entity.getAtualizadoEm()
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.meta3.java.scaffold.api.dtos;
 
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
 import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.io.Serializable;
 
@@ -45,11 +47,15 @@ public class ArquivoRecadastramentoEstadoDto implements Serializable {
     @Size(max = 50)
     private String codigoSec;
 
-    // Kept as String to preserve legacy formatting; length limited to 50.
+    // Text so clients may keep sending legacy formats; stored as a date (see toEntity) and returned
+    // as ISO yyyy-MM-dd, or empty when there is no date.
     @Size(max = 50)
+    @LegacyDate
     private String dataMovimentacao;
 
+    // Blank or a 4-digit year (stored as SMALLINT).
     @Size(max = 10)
+    @Pattern(regexp = AnoConverter.REGEXP, message = "must be a 4-digit year (1000-9999) or empty")
     private String anoBase;
 
     @Size(max = 255)
@@ -149,15 +155,18 @@ public class ArquivoRecadastramentoEstadoDto implements Serializable {
     /**
      * Map this DTO to the domain entity.
      *
-     * Note: This performs a straightforward field copy. If in the future more complex mapping
-     * (e.g., parsing dataMovimentacao into a date) is required, adapt this method or use a mapper.
+     * Note: This performs a straightforward field copy, except dataMovimentacao which is parsed
+     * from any legacy format (see ArquivoRecadastramentoEstado.parseDataMovimentacao).
+     *
+     * @throws IllegalArgumentException when dataMovimentacao is not a recognized date (rejected
+     *         earlier by @LegacyDate when the DTO was validated)
      */
     public ArquivoRecadastramentoEstado toEntity() {
         ArquivoRecadastramentoEstado entity = new ArquivoRecadastramentoEstado();
         // TODO: (REVIEW) We copy fields directly; ensure callers set any additional identity semantics expected by the domain.
         entity.setCodigo(this.codigo != null ? this.codigo : "");
         entity.setCodigoSec(this.codigoSec != null ? this.codigoSec : "");
-        entity.setDataMovimentacao(this.dataMovimentacao != null ? this.dataMovimentacao : "");
+        entity.setDataMovimentacao(ArquivoRecadastramentoEstado.parseDataMovimentacao(this.dataMovimentacao));
         entity.setAnoBase(this.anoBase != null ? this.anoBase : "");
         entity.setNome(this.nome != null ? this.nome : "");
         entity.setCnpj(this.cnpj != null ? this.cnpj : "");
@@ -175,7 +184,7 @@ public class ArquivoRecadastramentoEstadoDto implements Serializable {
         return new ArquivoRecadastramentoEstadoDto(
                 entity.getCodigo(),
                 entity.getCodigoSec(),
-                entity.getDataMovimentacao(),
+                entity.getDataMovimentacao() != null ? entity.getDataMovimentacao().toString() : "",
                 entity.getAnoBase(),
                 entity.getNome(),
                 entity.getCnpj(),
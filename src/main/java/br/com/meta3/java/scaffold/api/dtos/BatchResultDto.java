@@ -0,0 +1,45 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import java.io.Serializable;
+
+/**
+ * API Data Transfer Object summarizing a batch write.
+ *
+ * Only counts are returned: echoing thousands of records back would cost as much as the request.
+ */
+public class BatchResultDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Elements received in the request.
+    private int received;
+
+    // Rows written (inserted or overwritten).
+    private int written;
+
+    public BatchResultDto() {
+    }
+
+    public BatchResultDto(int received, int written) {
+        this.received = received;
+        this.written = written;
+    }
+
+    // Getters and setters
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    public void setWritten(int written) {
+        this.written = written;
+    }
+}
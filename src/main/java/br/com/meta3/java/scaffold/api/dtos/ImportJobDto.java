@@ -0,0 +1,104 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API Data Transfer Object describing an asynchronous import job.
+ *
+ * Design notes:
+ * - codigoarquivo is the job id (the Arquivo summary filled by the job).
+ * - status is one of AGUARDANDO (queued), EXECUTANDO, CONCLUIDA, FALHA or INTERROMPIDA (unfinished
+ *   job not running in this instance, e.g., after a restart; it can be resumed).
+ * - resultado is only present once the job completed in this instance; particoes always reflect
+ *   the committed checkpoints.
+ */
+public class ImportJobDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer codigoarquivo;
+    private String status;
+    private Instant submetidoEm;
+    private Instant iniciadoEm;
+    private Instant finalizadoEm;
+    private String erro;
+    private ImportResultDto resultado;
+    private List<ArquivoImportacaoDto> particoes = new ArrayList<>();
+
+    public ImportJobDto() {
+    }
+
+    public ImportJobDto(Integer codigoarquivo, String status) {
+        this.codigoarquivo = codigoarquivo;
+        this.status = status;
+    }
+
+    // Getters and setters
+
+    public Integer getCodigoarquivo() {
+        return codigoarquivo;
+    }
+
+    public void setCodigoarquivo(Integer codigoarquivo) {
+        this.codigoarquivo = codigoarquivo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getSubmetidoEm() {
+        return submetidoEm;
+    }
+
+    public void setSubmetidoEm(Instant submetidoEm) {
+        this.submetidoEm = submetidoEm;
+    }
+
+    public Instant getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public void setIniciadoEm(Instant iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+
+    public Instant getFinalizadoEm() {
+        return finalizadoEm;
+    }
+
+    public void setFinalizadoEm(Instant finalizadoEm) {
+        this.finalizadoEm = finalizadoEm;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+
+    public ImportResultDto getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(ImportResultDto resultado) {
+        this.resultado = resultado;
+    }
+
+    public List<ArquivoImportacaoDto> getParticoes() {
+        return particoes;
+    }
+
+    public void setParticoes(List<ArquivoImportacaoDto> particoes) {
+        this.particoes = particoes;
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API Data Transfer Object summarizing the outcome of a bulk import.
+ *
+ * Design notes:
+ * - Only a bounded sample of error messages is returned (see the import pipeline); the counters
+ *   are always exact.
+ */
+public class ImportResultDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Number of non-blank lines read from the input.
+    private long linesRead;
+
+    // Rows persisted to the database.
+    private long inserted;
+
+    // Rows rejected by parsing, validation or persistence (e.g., duplicate codigo).
+    private long rejected;
+
+    private long elapsedMillis;
+
+    private List<String> errors = new ArrayList<>();
+
+    // Arquivo summary row written at the end of the import (counters computed while streaming).
+    private ArquivoDto arquivo;
+
+    public ImportResultDto() {
+    }
+
+    public ImportResultDto(long linesRead, long inserted, long rejected, long elapsedMillis, List<String> errors) {
+        this.linesRead = linesRead;
+        this.inserted = inserted;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.errors = errors;
+    }
+
+    // Getters and setters
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public ArquivoDto getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(ArquivoDto arquivo) {
+        this.arquivo = arquivo;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated String must be blank or a date in one of the legacy formats accepted by
+ * ArquivoRecadastramentoEstado.parseDataMovimentacao.
+ */
+@Documented
+@Constraint(validatedBy = LegacyDateValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LegacyDate {
+
+    String message() default "must be a valid date (e.g., dd/MM/yyyy or yyyy-MM-dd)";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,21 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validator of @LegacyDate: null and blank values are valid (no date).
+ */
+public class LegacyDateValidator implements ConstraintValidator<LegacyDate, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        try {
+            ArquivoRecadastramentoEstado.parseDataMovimentacao(value);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * API Data Transfer Object for one page of a keyset paginated list.
+ *
+ * Design notes:
+ * - nextCursor is opaque to clients (URL-safe Base64 of the last key of the page) and is null on
+ *   the last page. Clients pass it back unchanged as the cursor request parameter.
+ * - No total count is returned: counting would scan the whole table on every page.
+ */
+public class PageDto<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String CURSOR_PREFIX = "k:";
+
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+    private int limit;
+
+    public PageDto() {
+    }
+
+    public PageDto(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // Getters and setters
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Encode a page key as an opaque cursor.
+     *
+     * @param key last key of the page, or null on the last page
+     * @return cursor, or null when key is null
+     */
+    public static String encodeCursor(Object key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] bytes = (CURSOR_PREFIX + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decode a cursor produced by encodeCursor.
+     *
+     * @param cursor cursor from the client; null or blank means the first page
+     * @return the key as a string, or null for the first page
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded.substring(CURSOR_PREFIX.length());
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.meta3.java.scaffold.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/**
+ * Output formats supported by the streaming export endpoints.
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Open a writer for this format.
+     *
+     * @param out response stream (left open)
+     * @param objectMapper mapper used for NDJSON
+     * @param type row type used for NDJSON
+     * @param columns columns used for CSV
+     */
+    public <T> ExportWriter<T> open(OutputStream out, ObjectMapper objectMapper, Class<T> type,
+                                    List<CsvExportWriter.Column<T>> columns) {
+        return switch (this) {
+            case NDJSON -> new NdjsonExportWriter<>(out, objectMapper, type);
+            case CSV -> new CsvExportWriter<>(out, columns);
+        };
+    }
+
+    /**
+     * Parse the format request parameter (case-insensitive).
+     *
+     * @throws IllegalArgumentException when the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+        }
+    }
+}
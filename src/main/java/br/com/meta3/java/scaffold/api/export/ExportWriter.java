@@ -0,0 +1,28 @@
+package br.com.meta3.java.scaffold.api.export;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Row-by-row writer used by the streaming export endpoints.
+ *
+ * Implementations buffer output and only flush when the buffer fills or on close, so each row is
+ * written to the response without holding the previous ones in memory.
+ *
+ * @param <T> row type
+ */
+public interface ExportWriter<T> extends AutoCloseable {
+
+    /**
+     * Write one row.
+     *
+     * @throws UncheckedIOException when the client disconnected or the response cannot be written
+     *         (unchecked so the method can be used as a Consumer)
+     */
+    void write(T row);
+
+    /**
+     * Flush buffered rows. The underlying response stream is left open for the container.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,53 @@
+package br.com.meta3.java.scaffold.api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes rows as newline-delimited JSON (one JSON object per line).
+ *
+ * Design notes:
+ * - A single JsonGenerator is reused for the whole response; FLUSH_AFTER_WRITE_VALUE is disabled
+ *   so rows accumulate in the generator buffer instead of producing one network write per row.
+ * - The application ObjectMapper is used so the rows look exactly like the regular JSON endpoints.
+ */
+public class NdjsonExportWriter<T> implements ExportWriter<T> {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    public NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper, Class<T> type) {
+        this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // The container owns the response stream.
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(T row) {
+        try {
+            writer.writeValue(generator, row);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            generator.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.meta3.java.scaffold.application.analytics;
+
+import br.com.meta3.java.scaffold.application.services.ArquivoChangedEvent;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Application service answering filter-and-sum queries over Arquivo from an in-memory columnar
+ * snapshot (ArquivoColumns) instead of the database.
+ *
+ * Design notes:
+ * - Every committed Arquivo change (ArquivoChangedEvent) bumps a version counter. A query compares
+ *   the snapshot version with the current one and, when they differ, rebuilds the snapshot by
+ *   streaming the table through ArquivoRepository.streamAll. Bursts of changes (e.g., an import)
+ *   therefore cost one rebuild at the next query, not one per change.
+ * - The version is read before the table, so a change committed during a rebuild leaves the new
+ *   snapshot stale and the following query rebuilds again; a snapshot is never newer than its version.
+ * - Only one thread rebuilds at a time; fresh snapshots are read without locking.
+ *
+ * TODO: (REVIEW) The snapshot costs about 28 bytes per Arquivo plus the dictionaries. For tables in
+ * the tens of millions of rows consider refreshing incrementally or bounding the snapshot.
+ */
+@Service
+public class ArquivoAnalyticsService {
+
+    private final ArquivoRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLong version = new AtomicLong();
+    private final Object rebuildLock = new Object();
+
+    private volatile ArquivoColumns snapshot;
+
+    public ArquivoAnalyticsService(ArquivoRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Count the Arquivo matching the filter and sum their counters.
+     *
+     * @param filtro year, school and counter bounds; null components match anything
+     * @return totals of the matching Arquivo
+     */
+    public ArquivoEstatistica sum(ArquivoFiltro filtro) {
+        return currentSnapshot().sum(filtro);
+    }
+
+    /**
+     * Mark the snapshot stale once an Arquivo change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArquivoChanged(ArquivoChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private ArquivoColumns currentSnapshot() {
+        ArquivoColumns current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            long expected = version.get();
+            if (current == null || current.version() != expected) {
+                current = load(expected);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private ArquivoColumns load(long expectedVersion) {
+        return readOnlyTransaction.execute(status -> {
+            ArquivoColumns.Builder builder = new ArquivoColumns.Builder(expectedVersion);
+            try (Stream<ArquivoView> rows = repository.streamAll()) {
+                rows.forEach(builder::add);
+            }
+            return builder.build();
+        });
+    }
+}
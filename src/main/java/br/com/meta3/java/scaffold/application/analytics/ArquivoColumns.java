@@ -0,0 +1,223 @@
+package br.com.meta3.java.scaffold.application.analytics;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable column-oriented snapshot of the Arquivo counters for in-process filtering and sums.
+ *
+ * Layout: one int[] per counter (quantidaderegistro, aptos, semdocumento, comcodigosetps, comerro)
+ * and one int[] of dictionary codes per dimension (anovigencia, codigoescola). Row i of every
+ * column belongs to the same Arquivo.
+ *
+ * Design notes:
+ * - A query is a single pass over primitive arrays with no boxing or allocation per row, which keeps
+ *   the scan in the CPU caches. Equality on a dimension compares ints: the filter value is looked
+ *   up in the dictionary once, and a value absent from the dictionary matches nothing without a scan.
+ * - Snapshots with at least PARALLEL_THRESHOLD rows are scanned in CHUNK_SIZE slices on the common
+ *   ForkJoinPool and the partial sums are added up.
+ * - The snapshot is never modified after build, so it can be read by any number of threads.
+ * - A null year or school is stored as an empty string (as in arquivo_resumo); a null counter as 0.
+ */
+public final class ArquivoColumns {
+
+    static final int QUANTIDADE_REGISTRO = 0;
+    static final int APTOS = 1;
+    static final int SEM_DOCUMENTO = 2;
+    static final int COM_CODIGO_SETPS = 3;
+    static final int COM_ERRO = 4;
+    static final int COUNTERS = 5;
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    // Dictionary code of a filter that matches any value.
+    private static final int ANY = -1;
+    // Dictionary code of a filter value that no row has.
+    private static final int ABSENT = -2;
+
+    private final long version;
+    private final int size;
+    private final int[][] counters;
+    private final int[] anos;
+    private final int[] escolas;
+    private final Map<String, Integer> anoCodes;
+    private final Map<String, Integer> escolaCodes;
+
+    private ArquivoColumns(long version, int size, int[][] counters, int[] anos, int[] escolas,
+                           Map<String, Integer> anoCodes, Map<String, Integer> escolaCodes) {
+        this.version = version;
+        this.size = size;
+        this.counters = counters;
+        this.anos = anos;
+        this.escolas = escolas;
+        this.anoCodes = anoCodes;
+        this.escolaCodes = escolaCodes;
+    }
+
+    /**
+     * Version of the arquivo table this snapshot was built from (see ArquivoAnalyticsService).
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Number of Arquivo rows in the snapshot.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Count the rows matching the filter and sum their counters.
+     *
+     * @param filtro year, school and counter bounds; null components match anything
+     * @return totals of the matching rows; anovigencia/codigoescola echo the filter
+     */
+    public ArquivoEstatistica sum(ArquivoFiltro filtro) {
+        int ano = code(anoCodes, filtro.anovigencia());
+        int escola = code(escolaCodes, filtro.codigoescola());
+        long[] totals;
+        if (ano == ABSENT || escola == ABSENT) {
+            totals = new long[COUNTERS + 1];
+        } else {
+            int[] min = filtro.minimos();
+            int[] max = filtro.maximos();
+            if (size < PARALLEL_THRESHOLD) {
+                totals = scan(0, size, ano, escola, min, max);
+            } else {
+                int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                totals = IntStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> scan(chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE), ano, escola, min, max))
+                        .reduce(new long[COUNTERS + 1], ArquivoColumns::add);
+            }
+        }
+        return new ArquivoEstatistica(filtro.codigoescola(), filtro.anovigencia(), totals[0],
+                totals[1 + QUANTIDADE_REGISTRO], totals[1 + APTOS], totals[1 + SEM_DOCUMENTO],
+                totals[1 + COM_CODIGO_SETPS], totals[1 + COM_ERRO]);
+    }
+
+    /**
+     * Scan rows [from, to). Returns {matching rows, sum of each counter}.
+     */
+    private long[] scan(int from, int to, int ano, int escola, int[] min, int[] max) {
+        int[] quantidade = counters[QUANTIDADE_REGISTRO];
+        int[] aptos = counters[APTOS];
+        int[] semDocumento = counters[SEM_DOCUMENTO];
+        int[] comCodigoSetps = counters[COM_CODIGO_SETPS];
+        int[] comErro = counters[COM_ERRO];
+        long rows = 0;
+        long sumQuantidade = 0;
+        long sumAptos = 0;
+        long sumSemDocumento = 0;
+        long sumComCodigoSetps = 0;
+        long sumComErro = 0;
+        for (int i = from; i < to; i++) {
+            if ((ano != ANY && anos[i] != ano) || (escola != ANY && escolas[i] != escola)) {
+                continue;
+            }
+            int q = quantidade[i];
+            int a = aptos[i];
+            int s = semDocumento[i];
+            int c = comCodigoSetps[i];
+            int e = comErro[i];
+            if (q < min[QUANTIDADE_REGISTRO] || q > max[QUANTIDADE_REGISTRO]
+                    || a < min[APTOS] || a > max[APTOS]
+                    || s < min[SEM_DOCUMENTO] || s > max[SEM_DOCUMENTO]
+                    || c < min[COM_CODIGO_SETPS] || c > max[COM_CODIGO_SETPS]
+                    || e < min[COM_ERRO] || e > max[COM_ERRO]) {
+                continue;
+            }
+            rows++;
+            sumQuantidade += q;
+            sumAptos += a;
+            sumSemDocumento += s;
+            sumComCodigoSetps += c;
+            sumComErro += e;
+        }
+        return new long[] {rows, sumQuantidade, sumAptos, sumSemDocumento, sumComCodigoSetps, sumComErro};
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        long[] sum = new long[left.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = left[i] + right[i];
+        }
+        return sum;
+    }
+
+    private static int code(Map<String, Integer> dictionary, String value) {
+        if (value == null) {
+            return ANY;
+        }
+        return dictionary.getOrDefault(value, ABSENT);
+    }
+
+    /**
+     * Accumulates rows into growable columns; not thread-safe.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final long version;
+        private int size;
+        private int[][] counters = new int[COUNTERS][INITIAL_CAPACITY];
+        private int[] anos = new int[INITIAL_CAPACITY];
+        private int[] escolas = new int[INITIAL_CAPACITY];
+        private final Map<String, Integer> anoCodes = new HashMap<>();
+        private final Map<String, Integer> escolaCodes = new HashMap<>();
+
+        /**
+         * @param version version of the arquivo table read by this builder
+         */
+        public Builder(long version) {
+            this.version = version;
+        }
+
+        public Builder add(ArquivoView row) {
+            if (size == anos.length) {
+                int capacity = anos.length * 2;
+                for (int c = 0; c < COUNTERS; c++) {
+                    counters[c] = Arrays.copyOf(counters[c], capacity);
+                }
+                anos = Arrays.copyOf(anos, capacity);
+                escolas = Arrays.copyOf(escolas, capacity);
+            }
+            counters[QUANTIDADE_REGISTRO][size] = valor(row.quantidaderegistro());
+            counters[APTOS][size] = valor(row.aptos());
+            counters[SEM_DOCUMENTO][size] = valor(row.semdocumento());
+            counters[COM_CODIGO_SETPS][size] = valor(row.comcodigosetps());
+            counters[COM_ERRO][size] = valor(row.comerro());
+            anos[size] = encode(anoCodes, row.anovigencia());
+            escolas[size] = encode(escolaCodes, row.codigoescola());
+            size++;
+            return this;
+        }
+
+        /**
+         * Trim the columns to the row count and freeze them into a snapshot.
+         */
+        public ArquivoColumns build() {
+            int[][] trimmed = new int[COUNTERS][];
+            for (int c = 0; c < COUNTERS; c++) {
+                trimmed[c] = Arrays.copyOf(counters[c], size);
+            }
+            return new ArquivoColumns(version, size, trimmed, Arrays.copyOf(anos, size), Arrays.copyOf(escolas, size),
+                    Map.copyOf(anoCodes), Map.copyOf(escolaCodes));
+        }
+
+        private static int encode(Map<String, Integer> dictionary, String value) {
+            return dictionary.computeIfAbsent(value == null ? "" : value, key -> dictionary.size());
+        }
+
+        private static int valor(Integer value) {
+            return value == null ? 0 : value;
+        }
+    }
+}
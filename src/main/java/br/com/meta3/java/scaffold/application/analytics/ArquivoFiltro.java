@@ -0,0 +1,49 @@
+package br.com.meta3.java.scaffold.application.analytics;
+
+/**
+ * Filter of the in-memory Arquivo analytics (see ArquivoColumns).
+ *
+ * Every component is optional: a null year or school matches any value and a null bound is open.
+ * Bounds are inclusive. The component names double as request parameter names.
+ */
+public record ArquivoFiltro(String anovigencia,
+                            String codigoescola,
+                            Integer minQuantidaderegistro,
+                            Integer maxQuantidaderegistro,
+                            Integer minAptos,
+                            Integer maxAptos,
+                            Integer minSemdocumento,
+                            Integer maxSemdocumento,
+                            Integer minComcodigosetps,
+                            Integer maxComcodigosetps,
+                            Integer minComerro,
+                            Integer maxComerro) {
+
+    /**
+     * Lower bounds in ArquivoColumns counter order; Integer.MIN_VALUE when open.
+     */
+    int[] minimos() {
+        return new int[] {
+                orElse(minQuantidaderegistro, Integer.MIN_VALUE),
+                orElse(minAptos, Integer.MIN_VALUE),
+                orElse(minSemdocumento, Integer.MIN_VALUE),
+                orElse(minComcodigosetps, Integer.MIN_VALUE),
+                orElse(minComerro, Integer.MIN_VALUE)};
+    }
+
+    /**
+     * Upper bounds in ArquivoColumns counter order; Integer.MAX_VALUE when open.
+     */
+    int[] maximos() {
+        return new int[] {
+                orElse(maxQuantidaderegistro, Integer.MAX_VALUE),
+                orElse(maxAptos, Integer.MAX_VALUE),
+                orElse(maxSemdocumento, Integer.MAX_VALUE),
+                orElse(maxComcodigosetps, Integer.MAX_VALUE),
+                orElse(maxComerro, Integer.MAX_VALUE)};
+    }
+
+    private static int orElse(Integer value, int fallback) {
+        return value == null ? fallback : value;
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.meta3.java.scaffold.application.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Memory-bounded cache of serialized (JSON) query results, versioned per table.
+ *
+ * Design notes:
+ * - Every table has a generation counter that is part of each cache key. A write bumps the counter
+ *   of its table only, so results of other tables stay cached; entries of older generations of the
+ *   bumped table are dropped right away.
+ * - Results are stored as the JSON bytes of the DTO list: a hit skips the query, the entity to DTO
+ *   mapping and the serialization. The row count is stored with the bytes, so callers can record
+ *   per-call metrics (finder.rows) on hits as well as misses. The bound is on the total size of those bytes (max-bytes); least
+ *   recently used entries are evicted beyond it and a single result larger than a quarter of the
+ *   bound is returned without being cached.
+ * - A result is only stored if the generation did not change while it was loaded, so a query that
+ *   started before a write committed cannot store the old rows under the new generation.
+ *
+ * TODO: (REVIEW) Generations are local to this JVM. With several instances, writes on one instance
+ * do not invalidate the others; share the counters (e.g., in the database) before scaling out.
+ */
+@Component
+public class QueryResultCache {
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Key, Result> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QueryResultCache(ObjectMapper objectMapper,
+                            @Value("${cache.query.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * Return the JSON of a query result, running and serializing the query on a miss.
+     *
+     * @param table table the query reads; its generation versions the entry
+     * @param query query name, unique within the table
+     * @param argument query argument (part of the key, may be null)
+     * @param loader runs the query and maps the rows to DTOs
+     * @return JSON bytes and row count of the loader result
+     */
+    public Result get(String table, String query, Object argument, Supplier<? extends Collection<?>> loader) {
+        AtomicLong generation = generation(table);
+        Key key = new Key(table, generation.get(), query, argument);
+        synchronized (entries) {
+            Result cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        Collection<?> rows = loader.get();
+        Result result = new Result(serialize(rows), rows.size());
+        if (result.json().length <= maxBytes / 4) {
+            synchronized (entries) {
+                if (generation.get() == key.generation() && entries.putIfAbsent(key, result) == null) {
+                    totalBytes += result.json().length;
+                    evictOverflow();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bump the generation of the table now, dropping its cached results.
+     */
+    public void invalidate(String table) {
+        generation(table).incrementAndGet();
+        invalidations.increment();
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, Result>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Result> entry = it.next();
+                if (entry.getKey().table().equals(table)) {
+                    totalBytes -= entry.getValue().json().length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Bump the generation of the table once the current transaction completes (now when there is none).
+     *
+     * Bumping before the commit would let a concurrent query cache the old rows under the new generation.
+     */
+    public void invalidateAfterCommit(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(table);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(table);
+            }
+        });
+    }
+
+    /**
+     * Current counters of the cache.
+     */
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(entries.size(), totalBytes, maxBytes, hits.sum(), misses.sum(), evictions.sum(),
+                    invalidations.sum());
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Key, Result>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().json().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private AtomicLong generation(String table) {
+        return generations.computeIfAbsent(table, name -> new AtomicLong());
+    }
+
+    private byte[] serialize(Object result) {
+        try {
+            return objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize cached query result", ex);
+        }
+    }
+
+    /**
+     * Cache counters; evictions are size-based removals, invalidations are generation bumps.
+     */
+    public record Stats(int entries, long bytes, long maxBytes, long hits, long misses, long evictions, long invalidations) {
+    }
+
+    /**
+     * A cached result: the JSON array and the number of rows in it.
+     */
+    public record Result(byte[] json, int rows) {
+    }
+
+    private record Key(String table, long generation, String query, Object argument) {
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.meta3.java.scaffold.application.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded read-through cache of immutable values with LRU and time-to-live eviction.
+ *
+ * Design notes:
+ * - Entries live in an access-ordered LinkedHashMap guarded by a single lock; the lock is never held
+ *   while loading from the database, so a slow load does not block hits on other keys.
+ * - Only present values are cached. A missing key is looked up again on every call, so creating a
+ *   row needs no invalidation.
+ * - Stale fills are prevented with an invalidation counter: a load records the counter before
+ *   reading and its result is only stored if no invalidation happened meanwhile. Together with
+ *   invalidateAfterCommit this means a value read before a write committed never lands in the cache
+ *   after that write was invalidated.
+ * - Values must be immutable (records/views): the same instance is handed to every caller.
+ *
+ * TODO: (REVIEW) Invalidation is local to this JVM. With several instances, either shorten the TTL
+ * or broadcast invalidations.
+ */
+public class ReadCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param name name reported in the statistics
+     * @param maxEntries maximum number of cached keys; the least recently used entry is evicted beyond it
+     * @param ttl time after which an entry is reloaded, whatever its use
+     */
+    public ReadCache(String name, int maxEntries, Duration ttl) {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ReadCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the cached value of the key, loading and caching it on a miss.
+     *
+     * @param key cache key
+     * @param loader database lookup; called without holding the cache lock
+     * @return the value, or empty when the loader found nothing (not cached)
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return Optional.of(entry.value);
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        long stamp = invalidations.get();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            synchronized (entries) {
+                if (invalidations.get() == stamp) {
+                    entries.put(key, new Entry<>(value, now));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop the key now.
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Drop every key now.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drop the keys once the current transaction completes (right away when there is none).
+     *
+     * Invalidating before the commit would let a concurrent reader cache the old row again.
+     */
+    public void invalidateAfterCommit(Iterable<K> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(this::invalidate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Also on rollback: harmless, and covers rows changed by a partially applied batch.
+                keys.forEach(ReadCache.this::invalidate);
+            }
+        });
+    }
+
+    /**
+     * Current counters of this cache.
+     */
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(name, size, maxEntries, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    /**
+     * Cache counters; evictions are size-based removals and expirations TTL-based ones.
+     */
+    public record Stats(String name, int size, int maxEntries, long hits, long misses, long evictions, long expirations) {
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.meta3.java.scaffold.application.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory ring buffer of recent SQL statements: a random sample of all statements plus every
+ * statement slower than a threshold.
+ *
+ * Replaces always-on SQL logging (show-sql, org.hibernate.SQL=DEBUG, BasicBinder=TRACE), whose
+ * formatting and I/O for every statement and bound parameter cost more than the queries.
+ *
+ * Design notes:
+ * - Statements are timed by the JDBC proxy in infrastructure.sql (SqlTracingDataSource), which asks
+ *   sample() before binding parameters: only sampled statements keep their parameter values. A slow
+ *   statement that was not sampled is kept with its SQL and timing, without parameters.
+ * - The buffer holds the last buffer-size kept statements; writers claim a slot with one atomic
+ *   increment and overwrite the oldest entry, so recording never blocks a query thread.
+ * - Counters cover every executed statement, so the slow fraction is known even when the buffer has
+ *   already rotated.
+ *
+ * TODO: (REVIEW) Parameter values may contain personal data (nome, cnpj). The endpoint that reads
+ * this buffer should be restricted before it is exposed outside a trusted network.
+ */
+@Component
+public class SqlTraceBuffer {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public SqlTraceBuffer(@Value("${sql.trace.sample-rate:0.01}") double sampleRate,
+                          @Value("${sql.trace.slow-threshold:PT0.1S}") Duration slowThreshold,
+                          @Value("${sql.trace.buffer-size:1000}") int bufferSize) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sql.trace.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.entries = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    /**
+     * Decide whether the next execution of a statement is sampled (keeps its parameters).
+     */
+    public boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Count one executed statement and keep it if it was sampled or is slow.
+     *
+     * @param sql statement text
+     * @param parameters bound values of a sampled statement (first batch entry), or null
+     * @param batchSize statements in the batch (1 when not batched)
+     * @param nanos execution time
+     * @param sampledExecution result of sample() for this execution
+     * @param error failure of the execution, or null
+     */
+    public void completed(String sql, List<String> parameters, int batchSize, long nanos, boolean sampledExecution,
+                          Throwable error) {
+        statements.increment();
+        boolean slowExecution = nanos >= slowThresholdNanos;
+        if (slowExecution) {
+            slow.increment();
+        }
+        if (error != null) {
+            errors.increment();
+        }
+        if (!sampledExecution && !slowExecution) {
+            return;
+        }
+        if (sampledExecution) {
+            sampled.increment();
+        }
+        long seq = sequence.getAndIncrement();
+        entries.set((int) (seq % entries.length()), new Entry(seq, Instant.now(), Thread.currentThread().getName(),
+                sql, sampledExecution ? parameters : null, batchSize, nanos / 1_000, slowExecution,
+                error == null ? null : error.toString()));
+    }
+
+    /**
+     * Format a bound value for an entry: NULL, the size of binary values, otherwise the text cut at
+     * MAX_PARAMETER_LENGTH characters.
+     */
+    public static String describe(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    /**
+     * Kept statements, newest first.
+     *
+     * @param limit maximum number of entries (1..buffer size)
+     * @param slowOnly return only statements above the slow threshold
+     * @throws IllegalArgumentException when limit is out of range
+     */
+    public List<Entry> recent(int limit, boolean slowOnly) {
+        int capacity = entries.length();
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("limit must be between 1 and " + capacity);
+        }
+        long last = sequence.get() - 1;
+        List<Entry> result = new ArrayList<>(Math.min(limit, 64));
+        for (long seq = last; seq >= 0 && seq > last - capacity && result.size() < limit; seq--) {
+            Entry entry = entries.get((int) (seq % capacity));
+            // Skip slots claimed but not yet written, or already overwritten by a newer statement.
+            if (entry != null && entry.sequence() == seq && (!slowOnly || entry.slow())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Current counters and settings.
+     */
+    public Stats stats() {
+        return new Stats(statements.sum(), sampled.sum(), slow.sum(), errors.sum(), Math.min(sequence.get(), entries.length()),
+                entries.length(), sampleRate, slowThresholdNanos / 1_000_000);
+    }
+
+    /**
+     * One kept statement; durationMicros is the execute call, not fetching the rows.
+     *
+     * parameters holds the values bound since the previous execution of the statement ("?" for one
+     * left from before, which Hibernate and JdbcTemplate never do), or null when not sampled.
+     */
+    public record Entry(long sequence, Instant timestamp, String thread, String sql, List<String> parameters,
+                        int batchSize, long durationMicros, boolean slow, String error) {
+    }
+
+    /**
+     * Counters since startup; buffered is the number of entries currently held.
+     */
+    public record Stats(long statements, long sampled, long slow, long errors, long buffered, int capacity,
+                        double sampleRate, long slowThresholdMillis) {
+    }
+}
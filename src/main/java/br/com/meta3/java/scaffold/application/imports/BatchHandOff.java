@@ -0,0 +1,161 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off between the parse/validate stage and the persist stage of one import worker.
+ *
+ * The producer (the thread running the parser and RecadastramentoBatchWriter) puts batches into a
+ * bounded queue; a dedicated virtual thread takes them and calls the downstream sink (normally
+ * RecadastramentoBatchPersister.persist). Parsing the next batches therefore overlaps with the
+ * database round trip of the current one.
+ *
+ * Design notes:
+ * - Backpressure: when the database is slower than the parser the queue fills up and the producer
+ *   blocks, so at most capacity + 2 batches (queued, being persisted, being built) are in memory
+ *   per worker, whatever the file size.
+ * - Ordering is preserved (single consumer, FIFO queue), which the checkpoints rely on: a committed
+ *   resume position always covers every earlier batch.
+ * - Failures cross the queue in both directions: a persist failure stops the consumer and is
+ *   rethrown to the producer on its next accept or on close; abort() stops the consumer when the
+ *   producer fails.
+ * - abort() and close() return only after the consumer thread has ended, so no persist (and no
+ *   checkpoint or JDBC connection) outlives the call: the caller can record the final status of the
+ *   work and release its resources without racing a batch still in flight.
+ * - Not thread-safe on the producer side: one hand-off per worker.
+ */
+public class BatchHandOff implements RecadastramentoBatchWriter.BatchSink, AutoCloseable {
+
+    // End-of-input marker, compared by identity.
+    private static final ImportBatch END = new ImportBatch(List.of(), -1, 0);
+
+    // How often a blocked producer re-checks whether the consumer failed.
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<ImportBatch> queue;
+    private final RecadastramentoBatchWriter.BatchSink downstream;
+    private final Thread consumer;
+
+    private volatile Throwable failure;
+
+    /**
+     * @param capacity maximum number of batches waiting to be persisted
+     * @param downstream persist stage, called on the consumer thread
+     * @param name name of the consumer thread (shown in thread dumps)
+     */
+    public BatchHandOff(int capacity, RecadastramentoBatchWriter.BatchSink downstream, String name) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.downstream = downstream;
+        this.consumer = Thread.ofVirtual().name(name).start(this::drain);
+    }
+
+    /**
+     * Queue a batch, blocking while the queue is full.
+     *
+     * @throws RuntimeException the failure of the persist stage, if any
+     */
+    @Override
+    public void accept(ImportBatch batch) {
+        put(batch);
+    }
+
+    /**
+     * Signal the end of the input and wait until every queued batch has been persisted.
+     *
+     * @throws RuntimeException the failure of the persist stage, if any
+     */
+    @Override
+    public void close() {
+        put(END);
+        try {
+            consumer.join();
+        } catch (InterruptedException ex) {
+            IllegalStateException interrupted = new IllegalStateException("Import interrupted", ex);
+            abort(interrupted);
+            Thread.currentThread().interrupt();
+            throw interrupted;
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Stop the consumer without persisting the queued batches (used when the producer failed) and
+     * wait until it has ended.
+     *
+     * A batch already being persisted is interrupted; whether it commits or rolls back, its
+     * transaction is over when this method returns. A persist failure other than the interruption
+     * is added to cause as a suppressed exception (a consumer that was merely waiting for
+     * the next batch adds nothing).
+     *
+     * @param cause failure of the producer, rethrown by the caller
+     */
+    public void abort(Throwable cause) {
+        queue.clear();
+        consumer.interrupt();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                consumer.join();
+                break;
+            } catch (InterruptedException ex) {
+                // Keep waiting: returning early would leave the batch transaction running.
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable current = failure;
+        if (current != null && current != cause && !(current.getCause() instanceof InterruptedException)) {
+            cause.addSuppressed(current);
+        }
+    }
+
+    private void put(ImportBatch batch) {
+        try {
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                rethrowFailure();
+            }
+        } catch (InterruptedException ex) {
+            IllegalStateException interrupted = new IllegalStateException("Import interrupted", ex);
+            abort(interrupted);
+            Thread.currentThread().interrupt();
+            throw interrupted;
+        }
+        rethrowFailure();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                ImportBatch batch = queue.take();
+                if (batch == END) {
+                    return;
+                }
+                downstream.accept(batch);
+            }
+        } catch (InterruptedException ex) {
+            failure = new IllegalStateException("Import interrupted", ex);
+        } catch (RuntimeException | Error ex) {
+            failure = ex;
+        }
+        // Free the producer if it is blocked on a full queue; it sees the failure on its next check.
+        queue.clear();
+    }
+
+    private void rethrowFailure() {
+        Throwable current = failure;
+        if (current instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (current instanceof Error error) {
+            throw error;
+        }
+    }
+}
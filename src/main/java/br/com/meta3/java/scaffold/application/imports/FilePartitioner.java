@@ -0,0 +1,85 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a line-oriented file into contiguous byte ranges aligned to line boundaries.
+ *
+ * Design notes:
+ * - Tentative boundaries are placed at equal distances and then moved forward to the byte after
+ *   the next '\n', so every range starts at the beginning of a line. Ranges can therefore be parsed
+ *   independently with FixedWidthRecadastramentoParser.parseRange and together cover every line
+ *   exactly once.
+ * - Only a few bytes around each boundary are read; the file itself is not scanned.
+ * - Ranges that collapse (very long lines or tiny files) are dropped, so fewer ranges than
+ *   requested may be returned.
+ */
+public final class FilePartitioner {
+
+    /**
+     * Contiguous byte range [start, end) of a file.
+     */
+    public record FileRange(long start, long end) {
+
+        public long length() {
+            return end - start;
+        }
+    }
+
+    private static final int PROBE_SIZE = 8 * 1024;
+
+    private FilePartitioner() {
+    }
+
+    /**
+     * Partition the file into at most the given number of line-aligned ranges.
+     *
+     * @param channel open file channel
+     * @param partitions desired number of ranges (at least 1)
+     * @return ordered, non-overlapping ranges covering the whole file
+     * @throws IOException when the file cannot be read
+     */
+    public static List<FileRange> partition(FileChannel channel, int partitions) throws IOException {
+        long size = channel.size();
+        List<FileRange> ranges = new ArrayList<>(Math.max(1, partitions));
+        if (size == 0) {
+            return ranges;
+        }
+        int count = Math.max(1, partitions);
+        long start = 0;
+        for (int i = 1; i <= count && start < size; i++) {
+            long end = i == count ? size : alignToNextLine(channel, size * i / count, size);
+            if (end > start) {
+                ranges.add(new FileRange(start, end));
+                start = end;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Return the offset right after the first '\n' at or after position, or size when there is none.
+     */
+    private static long alignToNextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long offset = position;
+        while (offset < size) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Zero-copy parser for the legacy fixed-width layout of aluno.ArquivoRecadastramentoEstado.
+ *
+ * Layout (0-based byte offsets, ISO-8859-1, one record per LF or CRLF terminated line):
+ *
+ *   field              offset  length
+ *   codigo                  0      20
+ *   codigoSec              20      20
+ *   dataMovimentacao       40      10
+ *   anoBase                50       4
+ *   nome                   54     100
+ *   cnpj                  154      18
+ *   bairro                172      50
+ *   (legacy filler)       222      28   -> not persisted, never decoded
+ *
+ * Design notes:
+ * - The file is memory-mapped in windows of at most WINDOW_SIZE bytes and lines are located by
+ *   scanning the mapped buffer; no line String is ever built. Each field is trimmed on the raw
+ *   bytes and only then decoded, so blank fields and the filler cost no allocation.
+ * - ISO-8859-1 maps every byte to the char with the same value, and with compact strings the JDK
+ *   stores such a String as the byte[] itself: decoding is a single array copy with no charset
+ *   lookup tables. Fields are copied into a reusable scratch array before decoding.
+ * - Short lines (trailing blanks stripped by editors) are accepted: fields past the end of the line
+ *   are empty.
+ * - Instances are not thread-safe (scratch buffer); use one parser per thread.
+ */
+public class FixedWidthRecadastramentoParser {
+
+    public static final int CODIGO_OFFSET = 0;
+    public static final int CODIGO_LENGTH = 20;
+    public static final int CODIGO_SEC_OFFSET = 20;
+    public static final int CODIGO_SEC_LENGTH = 20;
+    public static final int DATA_MOVIMENTACAO_OFFSET = 40;
+    public static final int DATA_MOVIMENTACAO_LENGTH = 10;
+    public static final int ANO_BASE_OFFSET = 50;
+    public static final int ANO_BASE_LENGTH = 4;
+    public static final int NOME_OFFSET = 54;
+    public static final int NOME_LENGTH = 100;
+    public static final int CNPJ_OFFSET = 154;
+    public static final int CNPJ_LENGTH = 18;
+    public static final int BAIRRO_OFFSET = 172;
+    public static final int BAIRRO_LENGTH = 50;
+    public static final int RECORD_LENGTH = 250;
+
+    /**
+     * Default size of each mapped window. A single line must fit in one window.
+     */
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Callback receiving parsed records.
+     */
+    public interface RecordHandler {
+
+        /**
+         * @param offset byte offset of the start of the line in the file
+         * @param nextOffset byte offset right after the line terminator (start of the next line)
+         * @param dto parsed record
+         */
+        void onRecord(long offset, long nextOffset, ArquivoRecadastramentoEstadoDto dto);
+    }
+
+    private final byte[] scratch = new byte[NOME_LENGTH];
+    private final int windowSize;
+
+    public FixedWidthRecadastramentoParser() {
+        this(WINDOW_SIZE);
+    }
+
+    /**
+     * Parser with a custom window size; small windows let tests exercise lines that cross a
+     * window boundary.
+     */
+    FixedWidthRecadastramentoParser(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Parse a whole file.
+     *
+     * @param file fixed-width file
+     * @param handler record callback
+     * @return number of records (non-blank lines) parsed
+     * @throws IOException when the file cannot be read
+     */
+    public long parse(Path file, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parseRange(channel, 0, channel.size(), handler);
+        }
+    }
+
+    /**
+     * Parse every line that starts inside [start, end). A line starting before end is parsed in
+     * full even if it extends past end, so adjacent ranges cover the file exactly once when
+     * start is aligned to the beginning of a line.
+     *
+     * @param channel open file channel
+     * @param start offset of the first line (must be a line start)
+     * @param end exclusive upper bound for line starts
+     * @param handler record callback
+     * @return number of records (non-blank lines) parsed
+     * @throws IOException when the file cannot be mapped or a line does not fit a window
+     */
+    public long parseRange(FileChannel channel, long start, long end, RecordHandler handler) throws IOException {
+        long fileSize = channel.size();
+        long records = 0;
+        long position = start;
+        while (position < end && position < fileSize) {
+            long windowEnd = Math.min(fileSize, position + windowSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowEnd - position);
+            int limit = buffer.limit();
+            int index = 0;
+            while (position + index < end && index < limit) {
+                int lineStart = index;
+                int newline = indexOf(buffer, (byte) '\n', lineStart, limit);
+                if (newline < 0) {
+                    if (windowEnd < fileSize) {
+                        if (lineStart == 0) {
+                            throw new IOException("Line at offset " + position + " exceeds " + windowSize + " bytes");
+                        }
+                        // Line crosses the window boundary: remap starting at this line.
+                        break;
+                    }
+                    // Last line of the file without terminator.
+                    newline = limit;
+                }
+                int lineEnd = newline;
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (!isBlank(buffer, lineStart, lineEnd)) {
+                    handler.onRecord(position + lineStart, position + Math.min(newline + 1, limit),
+                            parseLine(buffer, lineStart, lineEnd));
+                    records++;
+                }
+                index = Math.min(newline + 1, limit);
+            }
+            if (index == 0) {
+                break;
+            }
+            position += index;
+        }
+        return records;
+    }
+
+    private ArquivoRecadastramentoEstadoDto parseLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+        return new ArquivoRecadastramentoEstadoDto(
+                field(buffer, lineStart, lineEnd, CODIGO_OFFSET, CODIGO_LENGTH),
+                field(buffer, lineStart, lineEnd, CODIGO_SEC_OFFSET, CODIGO_SEC_LENGTH),
+                field(buffer, lineStart, lineEnd, DATA_MOVIMENTACAO_OFFSET, DATA_MOVIMENTACAO_LENGTH),
+                field(buffer, lineStart, lineEnd, ANO_BASE_OFFSET, ANO_BASE_LENGTH),
+                field(buffer, lineStart, lineEnd, NOME_OFFSET, NOME_LENGTH),
+                field(buffer, lineStart, lineEnd, CNPJ_OFFSET, CNPJ_LENGTH),
+                field(buffer, lineStart, lineEnd, BAIRRO_OFFSET, BAIRRO_LENGTH));
+    }
+
+    /**
+     * Slice a field out of the line, trim blanks on the raw bytes and decode it as ISO-8859-1.
+     */
+    private String field(ByteBuffer buffer, int lineStart, int lineEnd, int offset, int length) {
+        int from = lineStart + offset;
+        int to = Math.min(from + length, lineEnd);
+        while (from < to && isSpace(buffer.get(from))) {
+            from++;
+        }
+        while (to > from && isSpace(buffer.get(to - 1))) {
+            to--;
+        }
+        int size = to - from;
+        if (size <= 0) {
+            return "";
+        }
+        buffer.get(from, scratch, 0, size);
+        return new String(scratch, 0, size, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Blank or control character. Bytes are signed, so Latin-1 letters above 0x7F must be masked
+     * before comparing.
+     */
+    private static boolean isSpace(byte value) {
+        return (value & 0xFF) <= ' ';
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isSpace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.util.List;
+
+/**
+ * Unit of work handed from the validate stage (RecadastramentoBatchWriter) to the persist stage
+ * (RecadastramentoBatchPersister).
+ *
+ * @param rows validated rows to insert (may be empty when only rejected records were seen)
+ * @param resumePosition input position right after the last record covered by this batch; a
+ *                       restarted import can continue from here
+ * @param rejected records rejected by parsing/validation since the previous batch
+ */
+public record ImportBatch(List<ArquivoRecadastramentoEstado> rows, long resumePosition, long rejected) {
+}
@@ -0,0 +1,126 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+
+/**
+ * Primitive accumulators for the Arquivo summary counters of one import worker.
+ *
+ * Classification rules (one row is counted in quantidaderegistro and in exactly one of aptos,
+ * semdocumento or comerro; comcodigosetps is orthogonal):
+ * - quantidaderegistro: every non-blank record read from the file.
+ * - comerro: records rejected by parsing, validation or persistence.
+ * - semdocumento: persisted records without a CNPJ.
+ * - aptos: persisted records with a CNPJ.
+ * - comcodigosetps: persisted records carrying the SETPS code (codigoSec).
+ *
+ * Design notes:
+ * - Plain long fields with no synchronization: each worker owns one instance and instances are
+ *   merged once the workers have finished, so the hot loop never touches shared memory.
+ * - The persist stage works on copies (see copy()) and only keeps them once the batch committed,
+ *   so a rolled back batch never leaves the counters ahead of the data.
+ */
+public class ImportCounters {
+
+    private long registros;
+    private long aptos;
+    private long semDocumento;
+    private long comCodigoSetps;
+    private long comErro;
+
+    public ImportCounters() {
+    }
+
+    /**
+     * Seed the counters, e.g., with the values of a checkpoint when resuming an import.
+     */
+    public ImportCounters(long registros, long aptos, long semDocumento, long comCodigoSetps, long comErro) {
+        this.registros = registros;
+        this.aptos = aptos;
+        this.semDocumento = semDocumento;
+        this.comCodigoSetps = comCodigoSetps;
+        this.comErro = comErro;
+    }
+
+    public ImportCounters copy() {
+        return new ImportCounters(registros, aptos, semDocumento, comCodigoSetps, comErro);
+    }
+
+    /**
+     * Count a record that was persisted.
+     */
+    public void persisted(ArquivoRecadastramentoEstado entity) {
+        registros++;
+        if (isBlank(entity.getCnpj())) {
+            semDocumento++;
+        } else {
+            aptos++;
+        }
+        if (!isBlank(entity.getCodigoSec())) {
+            comCodigoSetps++;
+        }
+    }
+
+    /**
+     * Count a record that was rejected.
+     */
+    public void rejected() {
+        rejected(1);
+    }
+
+    /**
+     * Count several rejected records.
+     */
+    public void rejected(long count) {
+        registros += count;
+        comErro += count;
+    }
+
+    /**
+     * Add the counts of another worker to this instance.
+     */
+    public void merge(ImportCounters other) {
+        registros += other.registros;
+        aptos += other.aptos;
+        semDocumento += other.semDocumento;
+        comCodigoSetps += other.comCodigoSetps;
+        comErro += other.comErro;
+    }
+
+    /**
+     * Copy the counters into the summary DTO.
+     *
+     * @throws ArithmeticException when a counter does not fit the Integer columns of Arquivo
+     */
+    public void applyTo(ArquivoDto summary) {
+        summary.setQuantidaderegistro(Math.toIntExact(registros));
+        summary.setAptos(Math.toIntExact(aptos));
+        summary.setSemdocumento(Math.toIntExact(semDocumento));
+        summary.setComcodigosetps(Math.toIntExact(comCodigoSetps));
+        summary.setComerro(Math.toIntExact(comErro));
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    public long getAptos() {
+        return aptos;
+    }
+
+    public long getSemDocumento() {
+        return semDocumento;
+    }
+
+    public long getComCodigoSetps() {
+        return comCodigoSetps;
+    }
+
+    public long getComErro() {
+        return comErro;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
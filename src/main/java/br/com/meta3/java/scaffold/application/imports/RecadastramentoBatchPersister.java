@@ -0,0 +1,197 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persist stage of the recadastramento import pipeline.
+ *
+ * Each ImportBatch is inserted with ArquivoRecadastramentoEstadoRepository.insertAll in its own
+ * transaction. An optional Checkpointer runs inside that same transaction, so recorded progress
+ * and stored rows can never disagree.
+ *
+ * Design notes:
+ * - When a batch fails (typically a codigo that already exists or is repeated in the file) the
+ *   transaction is rolled back, the duplicates are looked up with one query and rejected, and the
+ *   rest of the batch is retried once, still atomically with its checkpoint.
+ * - If the retry fails too (not expected after validation) rows are inserted one by one and the
+ *   checkpoint is recorded afterwards in its own transaction. Only in this last-resort path a crash
+ *   between two rows can make a resumed import report already stored rows as duplicates.
+ * - A checkpoint that fails on its version (the checkpoint row was changed by someone else, see
+ *   ArquivoImportacao) is not retried: the batch is rolled back and the failure is rethrown.
+ * - An optional CommitListener receives the rows of every committed insert, after the commit, so
+ *   derived copies (e.g., the search index) can add exactly the stored rows.
+ * - Not thread-safe: one persister per partition, fed in input order.
+ */
+public class RecadastramentoBatchPersister {
+
+    /**
+     * Progress callback invoked inside the batch transaction.
+     */
+    @FunctionalInterface
+    public interface Checkpointer {
+
+        /**
+         * @param resumePosition input position right after the last record covered so far
+         * @param counters cumulative counters including the batch being committed
+         */
+        void checkpoint(long resumePosition, ImportCounters counters);
+    }
+
+    /**
+     * Callback invoked after rows have been committed.
+     */
+    @FunctionalInterface
+    public interface CommitListener {
+
+        /**
+         * @param rows rows stored by the transaction that just committed (never empty)
+         */
+        void committed(List<ArquivoRecadastramentoEstado> rows);
+    }
+
+    private final ArquivoRecadastramentoEstadoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Checkpointer checkpointer;
+    private final CommitListener commitListener;
+    private final List<String> errors = new ArrayList<>();
+
+    private ImportCounters counters;
+
+    /**
+     * @param repository target repository
+     * @param transactionTemplate template used to demarcate one transaction per batch
+     * @param checkpointer progress callback, or null when progress is not recorded
+     * @param initialCounters counters already committed by a previous run (resume), or empty counters
+     * @param commitListener receiver of the committed rows, or null
+     */
+    public RecadastramentoBatchPersister(ArquivoRecadastramentoEstadoRepository repository,
+                                         TransactionTemplate transactionTemplate,
+                                         Checkpointer checkpointer,
+                                         ImportCounters initialCounters,
+                                         CommitListener commitListener) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointer = checkpointer;
+        this.commitListener = commitListener;
+        this.counters = initialCounters;
+    }
+
+    /**
+     * Insert one batch and record its progress.
+     *
+     * @param batch batch produced by RecadastramentoBatchWriter
+     */
+    public void persist(ImportBatch batch) {
+        ImportCounters next = counters.copy();
+        next.rejected(batch.rejected());
+        List<ArquivoRecadastramentoEstado> rows = batch.rows();
+        try {
+            commit(rows, batch.resumePosition(), classify(next, rows));
+            return;
+        } catch (OptimisticLockingFailureException ex) {
+            throw ex;
+        } catch (DataAccessException ex) {
+            // The whole batch was rolled back; drop the duplicates and retry the remaining rows.
+        }
+
+        List<ArquivoRecadastramentoEstado> remaining = withoutDuplicates(rows, next);
+        try {
+            commit(remaining, batch.resumePosition(), classify(next, remaining));
+            return;
+        } catch (OptimisticLockingFailureException ex) {
+            throw ex;
+        } catch (DataAccessException ex) {
+            // Fall through to the row by row path.
+        }
+
+        for (ArquivoRecadastramentoEstado entity : remaining) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.insertAll(List.of(entity)));
+                next.persisted(entity);
+                notifyCommitted(List.of(entity));
+            } catch (DataAccessException rowEx) {
+                next.rejected();
+                addError("codigo " + entity.getCodigo() + ": " + rowEx.getMostSpecificCause().getMessage());
+            }
+        }
+        commit(List.of(), batch.resumePosition(), next);
+    }
+
+    public ImportCounters getCounters() {
+        return counters;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Insert the rows and run the checkpoint in one transaction; counters advance only after commit.
+     */
+    private void commit(List<ArquivoRecadastramentoEstado> rows, long resumePosition, ImportCounters after) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                repository.insertAll(rows);
+            }
+            if (checkpointer != null) {
+                checkpointer.checkpoint(resumePosition, after);
+            }
+        });
+        counters = after;
+        notifyCommitted(rows);
+    }
+
+    private void notifyCommitted(List<ArquivoRecadastramentoEstado> rows) {
+        if (commitListener != null && !rows.isEmpty()) {
+            commitListener.committed(rows);
+        }
+    }
+
+    /**
+     * Counters after persisting the given rows, leaving base untouched.
+     */
+    private static ImportCounters classify(ImportCounters base, List<ArquivoRecadastramentoEstado> rows) {
+        ImportCounters result = base.copy();
+        for (ArquivoRecadastramentoEstado entity : rows) {
+            result.persisted(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Remove rows whose codigo is already stored or repeated earlier in the batch, counting them as
+     * rejected in the given counters.
+     */
+    private List<ArquivoRecadastramentoEstado> withoutDuplicates(List<ArquivoRecadastramentoEstado> rows,
+                                                                 ImportCounters target) {
+        List<String> codigos = new ArrayList<>(rows.size());
+        for (ArquivoRecadastramentoEstado entity : rows) {
+            codigos.add(entity.getCodigo());
+        }
+        Set<String> seen = new HashSet<>(repository.findExistingCodigos(codigos));
+        List<ArquivoRecadastramentoEstado> remaining = new ArrayList<>(rows.size());
+        for (ArquivoRecadastramentoEstado entity : rows) {
+            if (seen.add(entity.getCodigo())) {
+                remaining.add(entity);
+            } else {
+                target.rejected();
+                addError("codigo " + entity.getCodigo() + ": already exists");
+            }
+        }
+        return remaining;
+    }
+
+    private void addError(String message) {
+        if (errors.size() < RecadastramentoBatchWriter.MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+}
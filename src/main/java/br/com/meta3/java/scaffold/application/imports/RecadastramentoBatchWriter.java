@@ -0,0 +1,121 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validate-and-batch stage of the recadastramento import pipeline.
+ *
+ * Parsed rows are validated, converted to entities and buffered; every batchSize rows the buffer is
+ * handed to a BatchSink as an ImportBatch (normally RecadastramentoBatchPersister.persist).
+ *
+ * Design notes:
+ * - Not thread-safe: each import (or each worker of an import) owns its own writer.
+ * - Validation runs the Default group together with the Create group. The per-record service only
+ *   validates the Create group because the controller already applied @Valid (Default group) at
+ *   binding time; imports have no binding step, so both groups are checked here.
+ * - Every batch carries the input position right after its last record and the number of records
+ *   rejected since the previous batch, so the persist stage can commit progress and counters
+ *   together with the rows.
+ * - A new buffer is allocated for each batch instead of clearing it, so a sink may keep the list.
+ * - Only the first MAX_ERRORS messages are kept to keep memory bounded on very bad files.
+ */
+public class RecadastramentoBatchWriter {
+
+    public static final int MAX_ERRORS = 100;
+
+    /**
+     * Receiver of full batches.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+
+        void accept(ImportBatch batch);
+    }
+
+    private final Validator validator;
+    private final int batchSize;
+    private final String positionLabel;
+    private final BatchSink sink;
+    private final List<String> errors = new ArrayList<>();
+
+    private List<ArquivoRecadastramentoEstado> buffer;
+    private long rejectedSinceLastBatch;
+    private long resumePosition;
+
+    /**
+     * @param validator Jakarta validator
+     * @param batchSize rows per batch
+     * @param positionLabel how positions are named in error messages (e.g., "line" or "offset")
+     * @param sink receiver of full batches
+     */
+    public RecadastramentoBatchWriter(Validator validator, int batchSize, String positionLabel, BatchSink sink) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.positionLabel = positionLabel;
+        this.sink = sink;
+        this.buffer = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Validate a parsed row and buffer it, emitting a batch when the buffer is full.
+     *
+     * @param position position of the row in the input (line number or byte offset), used in error messages
+     * @param nextPosition position right after the row, where a restarted import would continue
+     * @param dto parsed row
+     */
+    public void accept(long position, long nextPosition, ArquivoRecadastramentoEstadoDto dto) {
+        Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> violations =
+                validator.validate(dto, Default.class, ArquivoRecadastramentoEstadoDto.Create.class);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<ArquivoRecadastramentoEstadoDto> first = violations.iterator().next();
+            reject(position, nextPosition, first.getPropertyPath() + " " + first.getMessage());
+            return;
+        }
+        buffer.add(dto.toEntity());
+        resumePosition = nextPosition;
+        if (buffer.size() >= batchSize) {
+            emit();
+        }
+    }
+
+    /**
+     * Record a row that could not be parsed or validated.
+     */
+    public void reject(long position, long nextPosition, String reason) {
+        rejectedSinceLastBatch++;
+        resumePosition = nextPosition;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(positionLabel + " " + position + ": " + reason);
+        }
+    }
+
+    /**
+     * Emit the buffered rows and pending rejections, if any.
+     */
+    public void flush() {
+        if (!buffer.isEmpty() || rejectedSinceLastBatch > 0) {
+            emit();
+        }
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private void emit() {
+        ImportBatch batch = new ImportBatch(buffer, resumePosition, rejectedSinceLastBatch);
+        buffer = new ArrayList<>(batchSize);
+        rejectedSinceLastBatch = 0;
+        sink.accept(batch);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+
+/**
+ * Parser for the delimited recadastramento layout (one record per line).
+ *
+ * Layout: codigo;codigoSec;dataMovimentacao;anoBase;nome;cnpj;bairro
+ *
+ * Design notes:
+ * - Fields are split on ';' without quoting support; the legacy exports never quote values.
+ * - Values are trimmed, mirroring the empty-string defaults used by the DTO/entity.
+ * - The parser is stateless and thread-safe.
+ */
+public final class RecadastramentoLineParser {
+
+    public static final char SEPARATOR = ';';
+
+    public static final int FIELD_COUNT = 7;
+
+    private RecadastramentoLineParser() {
+    }
+
+    /**
+     * Parse a single line into a DTO.
+     *
+     * @param line raw line without the line terminator
+     * @return parsed DTO
+     * @throws IllegalArgumentException when the line does not have the expected number of fields
+     */
+    public static ArquivoRecadastramentoEstadoDto parse(String line) {
+        String[] fields = new String[FIELD_COUNT];
+        int field = 0;
+        int start = 0;
+        int length = line.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || line.charAt(i) == SEPARATOR) {
+                if (field == FIELD_COUNT) {
+                    throw new IllegalArgumentException("expected " + FIELD_COUNT + " fields but found more");
+                }
+                fields[field++] = line.substring(start, i).trim();
+                start = i + 1;
+            }
+        }
+        if (field != FIELD_COUNT) {
+            throw new IllegalArgumentException("expected " + FIELD_COUNT + " fields but found " + field);
+        }
+        return new ArquivoRecadastramentoEstadoDto(
+                fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.meta3.java.scaffold.application.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business-level meters of the application services, next to the timers Spring Boot records.
+ *
+ * Meters (Micrometer names; Prometheus adds the unit suffixes):
+ * - finder.rows{service, finder}: rows returned per finder call, with percentile histogram. The
+ *   cached JSON endpoints record it on every call, including cache hits.
+ * - validation.results{dto, group, outcome=valid|invalid}: validated DTOs; the failure rate is
+ *   invalid / (valid + invalid) over the scrape window.
+ *
+ * Design notes:
+ * - Method latency and throughput come from @Timed on the service classes (service.calls), the
+ *   Spring Data proxies (spring.data.repository.invocations) and Spring MVC (http.server.requests,
+ *   tagged with uri and status); see the management.* properties in application.properties.
+ * - Meters are cached per tag combination, so recording is a map lookup and an atomic add.
+ */
+@Component
+public class ServiceMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> finderRows = new ConcurrentHashMap<>();
+    private final Map<String, Counter> validations = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Record the number of rows a finder returned.
+     *
+     * @param service service name tag (e.g., arquivo)
+     * @param finder finder method name (e.g., findByCodigoescola)
+     * @param rows rows returned
+     */
+    public void finderRows(String service, String finder, int rows) {
+        finderRows.computeIfAbsent(service + '.' + finder, key -> DistributionSummary.builder("finder.rows")
+                        .description("Rows returned by a service finder call")
+                        .baseUnit("rows")
+                        .tag("service", service)
+                        .tag("finder", finder)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(rows);
+    }
+
+    /**
+     * Count one validated DTO.
+     *
+     * @param dto DTO simple class name
+     * @param group validation group (create, update)
+     * @param valid true when there were no constraint violations
+     */
+    public void validated(String dto, String group, boolean valid) {
+        String outcome = valid ? "valid" : "invalid";
+        validations.computeIfAbsent(dto + '.' + group + '.' + outcome, key -> Counter.builder("validation.results")
+                        .description("DTOs validated by the services, by outcome")
+                        .tag("dto", dto)
+                        .tag("group", group)
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .increment();
+    }
+}
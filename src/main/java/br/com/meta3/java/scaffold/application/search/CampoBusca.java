@@ -0,0 +1,27 @@
+package br.com.meta3.java.scaffold.application.search;
+
+import java.util.Locale;
+
+/**
+ * Fields searched by RecadastramentoSearchIndex.
+ */
+public enum CampoBusca {
+
+    NOME,
+    BAIRRO,
+    // Either field; a record matching both ranks by its better match.
+    TODOS;
+
+    /**
+     * Parse the campo request parameter (case-insensitive).
+     *
+     * @throws IllegalArgumentException when the field is not supported
+     */
+    public static CampoBusca fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported search field: " + value + " (use nome, bairro or todos)");
+        }
+    }
+}
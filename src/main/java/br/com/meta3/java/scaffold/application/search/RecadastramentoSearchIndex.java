@@ -0,0 +1,286 @@
+package br.com.meta3.java.scaffold.application.search;
+
+import br.com.meta3.java.scaffold.application.services.RecadastramentoChangedEvent;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory trigram index answering partial, case- and accent-insensitive searches on the nome and
+ * bairro of ArquivoRecadastramentoEstado, without a LIKE '%...%' scan of the table.
+ *
+ * Design notes:
+ * - Each field has a TrigramIndex over document ids; a document holds the record view and its
+ *   normalized nome and bairro. A query intersects the posting lists of its trigrams, verifies the
+ *   candidates with a substring test and keeps the best `limit` hits in a bounded heap.
+ * - Ranking: exact match, then prefix, then match at the start of a word, then anywhere; ties go to
+ *   the shorter text and then to codigo, so results are deterministic.
+ * - The index is loaded from ArquivoRecadastramentoEstadoRepository.streamAll on the first search.
+ *   Afterwards every committed RecadastramentoChangedEvent is applied incrementally: a written row
+ *   gets a new document id (the old one is marked dead) and a deleted row is marked dead. The dead
+ *   documents are dropped by rebuilding from memory once they outnumber the live ones.
+ * - Events take the write lock before checking whether the index is loaded, so a change committed
+ *   while the initial load streams the table is either read by the load or applied right after it.
+ * - Searches share a read lock; writes and loads are exclusive.
+ *
+ * TODO: (REVIEW) Memory is roughly the record views plus 4 bytes per trigram occurrence of nome and
+ * bairro (about 200 bytes per record for typical values). For tens of millions of records consider
+ * a persisted side table (codigo, trigram) instead, or H2/PostgreSQL full-text support.
+ */
+@Service
+public class RecadastramentoSearchIndex {
+
+    /**
+     * Largest number of results a search may return.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private static final int MIN_QUERY_LENGTH = 3;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int ANYWHERE = 3;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final ArquivoRecadastramentoEstadoRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; indexed by document id.
+    private final List<ArquivoRecadastramentoEstadoView> docs = new ArrayList<>();
+    private final List<String> nomes = new ArrayList<>();
+    private final List<String> bairros = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, Integer> idByCodigo = new HashMap<>();
+    private TrigramIndex nomeIndex = new TrigramIndex();
+    private TrigramIndex bairroIndex = new TrigramIndex();
+
+    private volatile boolean loaded;
+
+    public RecadastramentoSearchIndex(ArquivoRecadastramentoEstadoRepository repository,
+                                      PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Find the records whose nome and/or bairro contain the query, best matches first.
+     *
+     * @param query text to find; case, accents and repeated blanks are ignored
+     * @param campo field(s) to search
+     * @param limit maximum number of results (1..MAX_LIMIT)
+     * @return matching records in rank order
+     * @throws IllegalArgumentException when the query has fewer than 3 characters or limit is out of range
+     */
+    public List<ArquivoRecadastramentoEstadoView> search(String query, CampoBusca campo, int limit) {
+        String normalized = TrigramIndex.normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] candidates = switch (campo) {
+                case NOME -> nomeIndex.candidates(normalized);
+                case BAIRRO -> bairroIndex.candidates(normalized);
+                case TODOS -> union(nomeIndex.candidates(normalized), bairroIndex.candidates(normalized));
+            };
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+            for (int doc : candidates) {
+                if (!live.get(doc)) {
+                    continue;
+                }
+                Hit hit = rank(doc, normalized, campo);
+                if (hit != null) {
+                    best.add(hit);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(null);
+            List<ArquivoRecadastramentoEstadoView> result = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                result.add(docs.get(hit.doc()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed writes (service or import) to the index.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecadastramentoChanged(RecadastramentoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // Not loaded yet: the first search reads the committed rows from the table.
+                return;
+            }
+            for (ArquivoRecadastramentoEstadoView view : event.saved()) {
+                put(view);
+            }
+            for (String codigo : event.deleted()) {
+                remove(codigo);
+            }
+            int dead = docs.size() - idByCodigo.size();
+            if (dead >= MIN_DEAD_TO_COMPACT && dead > idByCodigo.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<ArquivoRecadastramentoEstadoView> rows = repository.streamAll()) {
+                        rows.forEach(this::put);
+                    }
+                });
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(ArquivoRecadastramentoEstadoView view) {
+        remove(view.codigo());
+        int doc = docs.size();
+        String nome = TrigramIndex.normalize(view.nome());
+        String bairro = TrigramIndex.normalize(view.bairro());
+        docs.add(view);
+        nomes.add(nome);
+        bairros.add(bairro);
+        live.set(doc);
+        idByCodigo.put(view.codigo(), doc);
+        nomeIndex.add(doc, nome);
+        bairroIndex.add(doc, bairro);
+    }
+
+    private void remove(String codigo) {
+        Integer doc = idByCodigo.remove(codigo);
+        if (doc != null) {
+            // Keep the slot (ids are positions) but release the record.
+            live.clear(doc);
+            docs.set(doc, null);
+            nomes.set(doc, null);
+            bairros.set(doc, null);
+        }
+    }
+
+    /**
+     * Re-index the live documents under fresh, dense ids.
+     */
+    private void compact() {
+        List<ArquivoRecadastramentoEstadoView> current = new ArrayList<>(idByCodigo.size());
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            current.add(docs.get(doc));
+        }
+        docs.clear();
+        nomes.clear();
+        bairros.clear();
+        live.clear();
+        idByCodigo.clear();
+        nomeIndex = new TrigramIndex();
+        bairroIndex = new TrigramIndex();
+        current.forEach(this::put);
+    }
+
+    private Hit rank(int doc, String query, CampoBusca campo) {
+        String nome = nomes.get(doc);
+        String bairro = bairros.get(doc);
+        int nomeScore = campo == CampoBusca.BAIRRO ? NO_MATCH : score(nome, query);
+        int bairroScore = campo == CampoBusca.NOME ? NO_MATCH : score(bairro, query);
+        if (nomeScore == NO_MATCH && bairroScore == NO_MATCH) {
+            // Trigrams matched out of order.
+            return null;
+        }
+        boolean byNome = nomeScore <= bairroScore;
+        return new Hit(doc, byNome ? nomeScore : bairroScore, (byNome ? nome : bairro).length(), docs.get(doc).codigo());
+    }
+
+    private static int score(String text, String query) {
+        int index = text.indexOf(query);
+        if (index < 0) {
+            return NO_MATCH;
+        }
+        if (index == 0) {
+            return text.length() == query.length() ? EXACT : PREFIX;
+        }
+        for (; index > 0; index = text.indexOf(query, index + 1)) {
+            if (text.charAt(index - 1) == ' ') {
+                return WORD_START;
+            }
+        }
+        return ANYWHERE;
+    }
+
+    /**
+     * Union of two ascending id arrays, ascending and without repeats.
+     */
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            result[size++] = next;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Ranked candidate; natural order is best first.
+     */
+    private record Hit(int doc, int score, int length, String codigo) implements Comparable<Hit> {
+
+        @Override
+        public int compareTo(Hit other) {
+            int c = Integer.compare(score, other.score);
+            if (c == 0) {
+                c = Integer.compare(length, other.length);
+            }
+            return c != 0 ? c : codigo.compareTo(other.codigo);
+        }
+    }
+}
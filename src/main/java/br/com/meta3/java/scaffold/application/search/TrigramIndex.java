@@ -0,0 +1,125 @@
+package br.com.meta3.java.scaffold.application.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from character trigrams to document ids, for "contains" search on one text field.
+ *
+ * Design notes:
+ * - Texts are normalized (accents removed, lower case, blanks collapsed) before indexing and
+ *   querying, so the search ignores case and accents.
+ * - Every trigram of the normalized text is indexed, without word padding, so a query matches
+ *   anywhere in the text and not only at word starts. Queries need at least 3 characters.
+ * - Posting lists are int arrays kept in ascending order because document ids only grow; the
+ *   candidates of a query are the intersection of its trigram lists, starting with the shortest.
+ *   Candidates must still be verified with a substring test (trigrams may match out of order).
+ * - Not thread-safe; RecadastramentoSearchIndex guards it with a read/write lock.
+ */
+final class TrigramIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern BLANKS = Pattern.compile("\\s+");
+    private static final int[] NONE = new int[0];
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Normalize a text for indexing or querying: no accents, lower case, single spaces, trimmed.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return BLANKS.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Index a normalized text under the given id; ids must be added in ascending order.
+     */
+    void add(int doc, String normalized) {
+        for (long trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+        }
+    }
+
+    /**
+     * Ids whose text contains every trigram of the normalized query (ascending, unverified).
+     *
+     * @param normalizedQuery query already passed through normalize, at least 3 characters
+     */
+    int[] candidates(String normalizedQuery) {
+        Set<Long> grams = trigrams(normalizedQuery);
+        Postings[] lists = new Postings[grams.size()];
+        int i = 0;
+        for (long trigram : grams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return NONE;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            size = retainAll(result, size, lists[l]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Keep in result[0..size) only the ids present in the list; returns the new size.
+     *
+     * Binary search from the last match position: the candidate set is the smallest list, so this
+     * costs O(candidates * log(list)) instead of walking the longer list.
+     */
+    private static int retainAll(int[] result, int size, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int r = 0; r < size && from < list.size; r++) {
+            int found = Arrays.binarySearch(list.ids, from, list.size, result[r]);
+            if (found >= 0) {
+                result[kept++] = result[r];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static Set<Long> trigrams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            grams.add(((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Growable ascending int list.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && ids[size - 1] == doc) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = doc;
+        }
+    }
+}
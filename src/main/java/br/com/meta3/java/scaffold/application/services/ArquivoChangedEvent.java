@@ -0,0 +1,10 @@
+package br.com.meta3.java.scaffold.application.services;
+
+/**
+ * Published by ArquivoService whenever Arquivo rows are created, updated or deleted.
+ *
+ * Listeners that keep derived copies of the arquivo table (caches, in-memory snapshots) should use
+ * @TransactionalEventListener so they react only after the change is committed and visible.
+ */
+public record ArquivoChangedEvent() {
+}
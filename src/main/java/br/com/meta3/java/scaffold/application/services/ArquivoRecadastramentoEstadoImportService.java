@@ -0,0 +1,587 @@
+package br.com.meta3.java.scaffold.application.services;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoImportacaoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportResultDto;
+import br.com.meta3.java.scaffold.application.cache.QueryResultCache;
+import br.com.meta3.java.scaffold.application.imports.BatchHandOff;
+import br.com.meta3.java.scaffold.application.imports.FilePartitioner;
+import br.com.meta3.java.scaffold.application.imports.FilePartitioner.FileRange;
+import br.com.meta3.java.scaffold.application.imports.FixedWidthRecadastramentoParser;
+import br.com.meta3.java.scaffold.application.imports.ImportCounters;
+import br.com.meta3.java.scaffold.application.imports.RecadastramentoBatchPersister;
+import br.com.meta3.java.scaffold.application.imports.RecadastramentoBatchWriter;
+import br.com.meta3.java.scaffold.application.imports.RecadastramentoLineParser;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoImportacaoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Application service for bulk imports of ArquivoRecadastramentoEstado files.
+ *
+ * Responsibilities:
+ * - Stream an input line by line through the parse -> validate -> batched insert pipeline.
+ * - Import legacy fixed-width files from local disk through the memory-mapped parser, split into
+ *   line-aligned byte ranges that are parsed, validated and written in parallel.
+ * - Run checkpointed import jobs that can be resumed after a crash or redeploy.
+ * - Report per-import counters and a bounded sample of errors.
+ * - Classify every row while it streams by and write the Arquivo summary row once, at the end.
+ *
+ * Design notes / decisions:
+ * - The input is never fully buffered: only one line plus one batch of entities is held at a time,
+ *   so memory use is independent of the file size.
+ * - The methods are intentionally not @Transactional. Each batch commits on its own (see
+ *   RecadastramentoBatchPersister), which keeps transactions short and lets a large file make
+ *   progress even if a later batch fails.
+ * - Rows are inserted, never updated: a codigo that already exists is rejected, mirroring
+ *   ArquivoRecadastramentoEstadoService.create.
+ * - Fixed-width imports run one worker per range on virtual threads; each worker owns its parser,
+ *   batch writer and persister, so the hot loop shares no state and the results are merged at the
+ *   end. Every worker holds a JDBC connection while flushing, so a global semaphore (max-workers,
+ *   shared by all concurrent imports) keeps the number of running workers within the pool.
+ * - Within a worker, parsing and persisting run on two threads connected by a bounded BatchHandOff
+ *   queue (queue-capacity batches): the parser works ahead while a batch is being written, and
+ *   blocks when the database falls behind.
+ * - The Arquivo counters (quantidaderegistro, aptos, semdocumento, comcodigosetps, comerro) are
+ *   accumulated per worker in ImportCounters and merged after the workers finish; the summary is
+ *   then created through ArquivoService.create so it gets the same validation as a client POST.
+ * - Import jobs work on files stored in the import directory. The Arquivo summary is created up
+ *   front (zero counters) so its codigoarquivo identifies the job; every range gets an
+ *   ArquivoImportacao checkpoint that is updated in the same transaction as each batch. Resuming
+ *   parses unfinished ranges from their committed offset, and the summary counters are written once
+ *   the last range completes, from the committed checkpoint totals.
+ * - Every committed batch invalidates the cached arquivo_recadastramento_estado listings
+ *   (QueryResultCache), so they never lag behind an import by more than one batch, and publishes
+ *   its stored rows as a RecadastramentoChangedEvent (search index).
+ */
+@Service
+public class ArquivoRecadastramentoEstadoImportService {
+
+    private final ArquivoRecadastramentoEstadoRepository repository;
+    private final ArquivoImportacaoRepository importacaoRepository;
+    private final ArquivoService arquivoService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelism;
+    private final long minPartitionBytes;
+    private final int queueCapacity;
+    private final Semaphore workerPermits;
+    private final Path importDirectory;
+    private final QueryResultCache resultCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ArquivoRecadastramentoEstadoImportService(ArquivoRecadastramentoEstadoRepository repository,
+                                                     ArquivoImportacaoRepository importacaoRepository,
+                                                     ArquivoService arquivoService,
+                                                     Validator validator,
+                                                     TransactionTemplate transactionTemplate,
+                                                     QueryResultCache resultCache,
+                                                     ApplicationEventPublisher eventPublisher,
+                                                     @Value("${recadastramento.import.batch-size:1000}") int batchSize,
+                                                     @Value("${recadastramento.import.parallelism:0}") int parallelism,
+                                                     @Value("${recadastramento.import.min-partition-bytes:4194304}") long minPartitionBytes,
+                                                     @Value("${recadastramento.import.queue-capacity:4}") int queueCapacity,
+                                                     @Value("${recadastramento.import.max-workers:10}") int maxWorkers,
+                                                     @Value("${recadastramento.import.directory:${java.io.tmpdir}/recadastramento-imports}") String importDirectory) {
+        this.repository = repository;
+        this.importacaoRepository = importacaoRepository;
+        this.arquivoService = arquivoService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.resultCache = resultCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        // TODO: (REVIEW) 0 (the default) means one worker per available core.
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minPartitionBytes = Math.max(1, minPartitionBytes);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        // TODO: (REVIEW) Shared by all imports; keep it at or below the JDBC connection pool size.
+        this.workerPermits = new Semaphore(Math.max(1, maxWorkers), true);
+        this.importDirectory = Path.of(importDirectory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Import a delimited recadastramento file (see RecadastramentoLineParser for the layout).
+     *
+     * @param input raw file contents; not closed by this method
+     * @param charset charset of the file (legacy exports use ISO-8859-1)
+     * @param summary Arquivo summary header (nomearquivo, anovigencia, codigoescola); counters are filled in
+     * @return import counters and the created Arquivo summary
+     * @throws IOException when reading the input fails
+     */
+    public ImportResultDto importDelimited(InputStream input, Charset charset, ArquivoDto summary) throws IOException {
+        validateSummaryHeader(summary);
+        long startNanos = System.nanoTime();
+        RecadastramentoBatchPersister persister =
+                new RecadastramentoBatchPersister(repository, transactionTemplate, null, new ImportCounters(), this::publishCommitted);
+        BatchHandOff handOff = new BatchHandOff(queueCapacity, invalidatingResults(persister), "recadastramento-persist");
+        RecadastramentoBatchWriter writer = new RecadastramentoBatchWriter(validator, batchSize, "line", handOff);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset), 64 * 1024);
+
+        long lineNumber = 0;
+        long linesRead = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                linesRead++;
+                ArquivoRecadastramentoEstadoDto dto;
+                try {
+                    dto = RecadastramentoLineParser.parse(line);
+                } catch (IllegalArgumentException ex) {
+                    writer.reject(lineNumber, lineNumber + 1, ex.getMessage());
+                    continue;
+                }
+                writer.accept(lineNumber, lineNumber + 1, dto);
+            }
+            writer.flush();
+        } catch (IOException | RuntimeException ex) {
+            handOff.abort(ex);
+            throw ex;
+        }
+        handOff.close();
+
+        return finish(startNanos, List.of(new PartitionResult(linesRead, writer, persister)), summary);
+    }
+
+    /**
+     * Import a legacy fixed-width recadastramento file from local disk.
+     *
+     * The file is split into line-aligned byte ranges (at most one per configured worker, and no
+     * range smaller than min-partition-bytes). Each range is memory-mapped, parsed, validated and
+     * written in batches by its own worker (see FixedWidthRecadastramentoParser); error messages
+     * report byte offsets instead of line numbers.
+     *
+     * @param file fixed-width file (ISO-8859-1)
+     * @param summary Arquivo summary header (nomearquivo, anovigencia, codigoescola); counters are filled in
+     * @return import counters and the created Arquivo summary
+     * @throws IOException when the file cannot be read
+     */
+    public ImportResultDto importFixedWidth(Path file, ArquivoDto summary) throws IOException {
+        validateSummaryHeader(summary);
+        long startNanos = System.nanoTime();
+        List<PartitionResult> results;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<FileRange> ranges = partition(channel);
+            results = runPartitions(ranges,
+                    range -> importRange(channel, range.start(), range.end(), null, new ImportCounters()));
+        }
+        return finish(startNanos, results, summary);
+    }
+
+    /**
+     * Store an uploaded fixed-width file in the import directory so a job can be resumed from it.
+     *
+     * @param input raw file contents; not closed by this method
+     * @return path of the stored file
+     * @throws IOException when the file cannot be written
+     */
+    public Path storeUpload(InputStream input) throws IOException {
+        Files.createDirectories(importDirectory);
+        Path file = Files.createTempFile(importDirectory, "recadastramento-", ".txt");
+        Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Create a checkpointed import job for a fixed-width file stored in the import directory.
+     *
+     * The Arquivo summary is created immediately (zero counters); its codigoarquivo identifies the
+     * job for runJob, status queries and resumes. No record is read yet: the ranges are only
+     * recorded as pending checkpoints, so this call is cheap enough for a request thread.
+     *
+     * @param file file inside the import directory (see storeUpload); deleted when the header is invalid
+     * @param summary Arquivo summary header (nomearquivo, anovigencia, codigoescola)
+     * @return the Arquivo summary identifying the job
+     * @throws IOException when the file cannot be read
+     * @throws IllegalArgumentException when the file is outside the import directory
+     */
+    public ArquivoDto createJob(Path file, ArquivoDto summary) throws IOException {
+        Path source = file.toAbsolutePath().normalize();
+        if (!source.startsWith(importDirectory)) {
+            throw new IllegalArgumentException("Import jobs only read files from the import directory");
+        }
+        List<FileRange> ranges;
+        long size;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            validateSummaryHeader(summary);
+            size = channel.size();
+            ranges = partition(channel);
+        } catch (IOException | RuntimeException ex) {
+            // No job refers to the file yet, so nothing could resume from it.
+            Files.deleteIfExists(source);
+            throw ex;
+        }
+
+        new ImportCounters().applyTo(summary);
+        summary.setCodigoarquivo(null);
+        ArquivoDto arquivo = arquivoService.create(summary);
+
+        for (int i = 0; i < ranges.size(); i++) {
+            FileRange range = ranges.get(i);
+            ArquivoImportacao checkpoint = new ArquivoImportacao();
+            checkpoint.setCodigoarquivo(arquivo.getCodigoarquivo());
+            checkpoint.setParticao(i);
+            checkpoint.setCaminhoArquivo(source.toString());
+            checkpoint.setTamanhoArquivo(size);
+            checkpoint.setInicio(range.start());
+            checkpoint.setFim(range.end());
+            checkpoint.setOffsetConfirmado(range.start());
+            checkpoint.setAtualizadoEm(Instant.now());
+            importacaoRepository.save(checkpoint);
+        }
+        return arquivo;
+    }
+
+    /**
+     * Run an import job, or resume it from its last committed checkpoints.
+     *
+     * Completed ranges are skipped and the others continue at their committed offset. The file is
+     * deleted once every range completes.
+     *
+     * @param codigoarquivo Arquivo filled by the job
+     * @return import counters and the Arquivo summary with its final counters
+     * @throws IOException when the file cannot be read
+     * @throws NoSuchElementException when there is no job for the Arquivo
+     * @throws IllegalStateException when the file changed since the job started
+     */
+    public ImportResultDto runJob(Integer codigoarquivo) throws IOException {
+        List<ArquivoImportacao> checkpoints = importacaoRepository.findByCodigoarquivo(codigoarquivo);
+        if (checkpoints.isEmpty()) {
+            throw new NoSuchElementException("Import job not found for codigoarquivo: " + codigoarquivo);
+        }
+        ArquivoDto arquivo = arquivoService.findById(codigoarquivo);
+        return runPending(arquivo, Path.of(checkpoints.get(0).getCaminhoArquivo()), checkpoints);
+    }
+
+    /**
+     * Return the progress of every range of an import job.
+     *
+     * @param codigoarquivo Arquivo filled by the job
+     * @return checkpoints ordered by partition
+     * @throws NoSuchElementException when there is no job for the Arquivo
+     */
+    public List<ArquivoImportacaoDto> findJob(Integer codigoarquivo) {
+        List<ArquivoImportacao> checkpoints = importacaoRepository.findByCodigoarquivo(codigoarquivo);
+        if (checkpoints.isEmpty()) {
+            throw new NoSuchElementException("Import job not found for codigoarquivo: " + codigoarquivo);
+        }
+        return checkpoints.stream()
+                .map(ArquivoImportacaoDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Run the unfinished ranges of a job and, once all ranges are complete, write the summary.
+     */
+    private ImportResultDto runPending(ArquivoDto arquivo, Path file, List<ArquivoImportacao> checkpoints) throws IOException {
+        long startNanos = System.nanoTime();
+        List<ArquivoImportacao> pending = checkpoints.stream()
+                .filter(checkpoint -> !checkpoint.isConcluida())
+                .collect(Collectors.toList());
+
+        List<PartitionResult> results = List.of();
+        if (!pending.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() != checkpoints.get(0).getTamanhoArquivo()) {
+                    throw new IllegalStateException("File " + file + " changed since the import job started");
+                }
+                results = runPartitions(pending, checkpoint -> importCheckpointed(channel, checkpoint));
+            }
+        }
+
+        // Every range is complete: the committed checkpoints hold the exact totals of the whole job.
+        ImportCounters totals = new ImportCounters();
+        for (ArquivoImportacao checkpoint : importacaoRepository.findByCodigoarquivo(arquivo.getCodigoarquivo())) {
+            totals.merge(countersOf(checkpoint));
+        }
+        totals.applyTo(arquivo);
+        ArquivoDto updated = arquivoService.update(arquivo);
+        Files.deleteIfExists(file);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        ImportResultDto result = new ImportResultDto(totals.getRegistros(),
+                totals.getAptos() + totals.getSemDocumento(), totals.getComErro(), elapsedMillis, collectErrors(results));
+        result.setArquivo(updated);
+        return result;
+    }
+
+    /**
+     * Import one range of a job from its committed offset, checkpointing every batch.
+     *
+     * ArquivoImportacao is versioned: every save goes through the copy returned by the previous
+     * one, so a save based on an outdated copy (e.g., a second run of the same job) fails instead of
+     * overwriting newer progress or status.
+     */
+    private PartitionResult importCheckpointed(FileChannel channel, ArquivoImportacao pending) throws IOException {
+        AtomicReference<ArquivoImportacao> current =
+                new AtomicReference<>(updateStatus(pending, ArquivoImportacao.STATUS_EXECUTANDO));
+        RecadastramentoBatchPersister.Checkpointer checkpointer = (resumePosition, counters) -> {
+            ArquivoImportacao checkpoint = current.get();
+            checkpoint.setOffsetConfirmado(resumePosition);
+            checkpoint.setRegistros(counters.getRegistros());
+            checkpoint.setAptos(counters.getAptos());
+            checkpoint.setSemdocumento(counters.getSemDocumento());
+            checkpoint.setComcodigosetps(counters.getComCodigoSetps());
+            checkpoint.setComerro(counters.getComErro());
+            checkpoint.setAtualizadoEm(Instant.now());
+            // Managed copy: its version is incremented when the batch transaction flushes.
+            current.set(importacaoRepository.save(checkpoint));
+        };
+
+        try {
+            ArquivoImportacao started = current.get();
+            PartitionResult result = importRange(channel, started.getOffsetConfirmado(), started.getFim(),
+                    checkpointer, countersOf(started));
+            ArquivoImportacao checkpoint = current.get();
+            checkpoint.setOffsetConfirmado(checkpoint.getFim());
+            updateStatus(checkpoint, ArquivoImportacao.STATUS_CONCLUIDA);
+            return result;
+        } catch (IOException | RuntimeException ex) {
+            // importRange returns only after its persist thread ended, so no checkpoint can follow this
+            // status. The in-memory checkpoint may be ahead of a rolled back batch: reload the committed state.
+            try {
+                importacaoRepository.findById(pending.getCodigo()).ifPresent(committed ->
+                        updateStatus(committed, ArquivoImportacao.STATUS_FALHA));
+            } catch (RuntimeException statusEx) {
+                ex.addSuppressed(statusEx);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Parse, validate and persist one byte range. Runs on a worker thread.
+     */
+    private PartitionResult importRange(FileChannel channel,
+                                        long start,
+                                        long end,
+                                        RecadastramentoBatchPersister.Checkpointer checkpointer,
+                                        ImportCounters initialCounters) throws IOException {
+        RecadastramentoBatchPersister persister =
+                new RecadastramentoBatchPersister(repository, transactionTemplate, checkpointer, initialCounters,
+                        this::publishCommitted);
+        BatchHandOff handOff = new BatchHandOff(queueCapacity, invalidatingResults(persister), "recadastramento-persist-" + start);
+        RecadastramentoBatchWriter writer = new RecadastramentoBatchWriter(validator, batchSize, "offset", handOff);
+        long linesRead;
+        try {
+            linesRead = new FixedWidthRecadastramentoParser().parseRange(channel, start, end, writer::accept);
+            writer.flush();
+        } catch (IOException | RuntimeException ex) {
+            handOff.abort(ex);
+            throw ex;
+        }
+        handOff.close();
+        return new PartitionResult(linesRead, writer, persister);
+    }
+
+    /**
+     * Split the file into at most one range per worker, none smaller than min-partition-bytes.
+     */
+    private List<FileRange> partition(FileChannel channel) throws IOException {
+        int partitions = (int) Math.max(1, Math.min(parallelism, channel.size() / minPartitionBytes));
+        return FilePartitioner.partition(channel, partitions);
+    }
+
+    /**
+     * Run one task per part, on the caller thread for a single part or on virtual threads otherwise.
+     *
+     * Every task holds one of the global worker permits while it runs, so concurrent imports share
+     * max-workers instead of each opening parallelism connections.
+     */
+    private <T> List<PartitionResult> runPartitions(List<T> parts, PartitionTask<T> task) throws IOException {
+        List<PartitionResult> results = new ArrayList<>(parts.size());
+        if (parts.size() <= 1) {
+            // Small file: run on the caller thread, no extra worker thread needed.
+            for (T part : parts) {
+                results.add(withWorkerPermit(task, part));
+            }
+            return results;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<PartitionResult>> futures = new ArrayList<>(parts.size());
+            for (T part : parts) {
+                futures.add(executor.submit(() -> withWorkerPermit(task, part)));
+            }
+            for (Future<PartitionResult> future : futures) {
+                results.add(await(future));
+            }
+        }
+        return results;
+    }
+
+    private <T> PartitionResult withWorkerPermit(PartitionTask<T> task, T part) throws IOException {
+        try {
+            workerPermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted while waiting for a worker");
+        }
+        try {
+            return task.run(part);
+        } finally {
+            workerPermits.release();
+        }
+    }
+
+    /**
+     * Save a new status; returns the saved copy, which carries the new version.
+     */
+    private ArquivoImportacao updateStatus(ArquivoImportacao checkpoint, String status) {
+        checkpoint.setStatus(status);
+        checkpoint.setAtualizadoEm(Instant.now());
+        return importacaoRepository.save(checkpoint);
+    }
+
+    private static ImportCounters countersOf(ArquivoImportacao checkpoint) {
+        return new ImportCounters(checkpoint.getRegistros(), checkpoint.getAptos(), checkpoint.getSemdocumento(),
+                checkpoint.getComcodigosetps(), checkpoint.getComerro());
+    }
+
+    /**
+     * Validate the descriptive fields of the summary before any row is written, so a bad header
+     * cannot fail the import after the data is already stored. Counters are checked later by
+     * ArquivoService.create.
+     *
+     * @throws ConstraintViolationException when a header field is invalid
+     */
+    private void validateSummaryHeader(ArquivoDto summary) {
+        Set<ConstraintViolation<ArquivoDto>> violations = new HashSet<>();
+        for (String property : new String[] {"nomearquivo", "anovigencia", "codigoescola"}) {
+            violations.addAll(validator.validateProperty(summary, property, Default.class, ArquivoDto.Create.class));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("ArquivoDto validation failed for import summary", violations);
+        }
+    }
+
+    /**
+     * Persist stage that bumps the result cache generation after each batch commits.
+     */
+    private RecadastramentoBatchWriter.BatchSink invalidatingResults(RecadastramentoBatchPersister persister) {
+        return batch -> {
+            persister.persist(batch);
+            resultCache.invalidate(ArquivoRecadastramentoEstadoService.RESULT_TABLE);
+        };
+    }
+
+    /**
+     * Tell the listeners of RecadastramentoChangedEvent about rows committed by an import batch.
+     */
+    private void publishCommitted(List<ArquivoRecadastramentoEstado> rows) {
+        eventPublisher.publishEvent(RecadastramentoChangedEvent.saved(
+                rows.stream().map(ArquivoRecadastramentoEstadoView::of).toList()));
+    }
+
+    /**
+     * Merge the worker results and write the Arquivo summary row.
+     */
+    private ImportResultDto finish(long startNanos, List<PartitionResult> results, ArquivoDto summary) {
+        long linesRead = 0;
+        ImportCounters counters = new ImportCounters();
+        for (PartitionResult result : results) {
+            linesRead += result.linesRead();
+            counters.merge(result.persister().getCounters());
+        }
+
+        counters.applyTo(summary);
+        summary.setCodigoarquivo(null);
+        ArquivoDto arquivo = arquivoService.create(summary);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        ImportResultDto result = new ImportResultDto(linesRead, counters.getAptos() + counters.getSemDocumento(),
+                counters.getComErro(), elapsedMillis, collectErrors(results));
+        result.setArquivo(arquivo);
+        return result;
+    }
+
+    private static List<String> collectErrors(List<PartitionResult> results) {
+        List<String> errors = new ArrayList<>();
+        for (PartitionResult result : results) {
+            for (List<String> source : List.of(result.writer().getErrors(), result.persister().getErrors())) {
+                for (String error : source) {
+                    if (errors.size() < RecadastramentoBatchWriter.MAX_ERRORS) {
+                        errors.add(error);
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static PartitionResult await(Future<PartitionResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Import worker failed", cause);
+        }
+    }
+
+    /**
+     * Work executed for one partition (a byte range or a job checkpoint).
+     */
+    @FunctionalInterface
+    private interface PartitionTask<T> {
+
+        PartitionResult run(T part) throws IOException;
+    }
+
+    /**
+     * Outcome of one worker: lines parsed in its range plus the stages holding its errors and counters.
+     */
+    private record PartitionResult(long linesRead, RecadastramentoBatchWriter writer, RecadastramentoBatchPersister persister) {
+    }
+}
@@ -1,15 +1,32 @@
 package br.com.meta3.java.scaffold.application.services;
 
 import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import br.com.meta3.java.scaffold.application.cache.QueryResultCache;
+import br.com.meta3.java.scaffold.application.cache.ReadCache;
+import br.com.meta3.java.scaffold.application.metrics.ServiceMetrics;
 import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import br.com.meta3.java.scaffold.domain.repositories.DataMovimentacaoKey;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPageRequest;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,17 +48,48 @@ import org.springframework.transaction.annotation.Transactional;
  * - 'codigo' is treated as the natural identifier and required by the DTO/domain. On create we
  *   validate that an entity with the same codigo does not already exist to avoid accidental overwrite.
  * - Validation is performed programmatically so the service controls which validation groups apply.
+ * - findViewById is served from a bounded LRU/TTL cache (ReadCache) of immutable views; update,
+ *   deleteById and upsertAll invalidate the affected codigos once their transaction completes.
+ * - The findByAnoBase/findByCnpj/findByBairro listings are also available as cached JSON
+ *   (QueryResultCache, table RESULT_TABLE); every write bumps the table generation.
+ * - Every write publishes a RecadastramentoChangedEvent with the written rows, which keeps the
+ *   nome/bairro search index (RecadastramentoSearchIndex) current after commit.
+ * - Public methods are timed like ArquivoService (service.calls); finder row counts and
+ *   validation outcomes go to ServiceMetrics.
  */
 @Service
+@Timed(value = "service.calls", extraTags = {"service", "recadastramento-estado"}, histogram = true)
 public class ArquivoRecadastramentoEstadoService {
 
+    /**
+     * QueryResultCache table name of arquivo_recadastramento_estado; writers outside this service
+     * (bulk imports) invalidate it too.
+     */
+    public static final String RESULT_TABLE = "arquivo_recadastramento_estado";
+
+    // Service tag of the ServiceMetrics meters.
+    private static final String METRICS_NAME = "recadastramento-estado";
+
     private final ArquivoRecadastramentoEstadoRepository repository;
     private final Validator validator;
+    private final ReadCache<String, ArquivoRecadastramentoEstadoView> viewCache;
+    private final QueryResultCache resultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics metrics;
 
     public ArquivoRecadastramentoEstadoService(ArquivoRecadastramentoEstadoRepository repository,
-                                               Validator validator) {
+                                               Validator validator,
+                                               QueryResultCache resultCache,
+                                               ApplicationEventPublisher eventPublisher,
+                                               ServiceMetrics metrics,
+                                               @Value("${cache.read.max-entries:10000}") int cacheMaxEntries,
+                                               @Value("${cache.read.ttl:PT5M}") Duration cacheTtl) {
         this.repository = repository;
         this.validator = validator;
+        this.resultCache = resultCache;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.viewCache = new ReadCache<>("recadastramento-estado", cacheMaxEntries, cacheTtl);
     }
 
     /**
@@ -59,6 +107,7 @@ public class ArquivoRecadastramentoEstadoService {
         // Validate DTO for create semantics
         Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> violations =
                 validator.validate(dto, ArquivoRecadastramentoEstadoDto.Create.class);
+        metrics.validated("ArquivoRecadastramentoEstadoDto", "create", violations.isEmpty());
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException("ArquivoRecadastramentoEstadoDto validation failed for create", violations);
         }
@@ -76,9 +125,49 @@ public class ArquivoRecadastramentoEstadoService {
         ArquivoRecadastramentoEstado entity = dto.toEntity();
         // Persist and return mapped DTO
         ArquivoRecadastramentoEstado saved = repository.save(entity);
+        resultCache.invalidateAfterCommit(RESULT_TABLE);
+        eventPublisher.publishEvent(RecadastramentoChangedEvent.saved(List.of(ArquivoRecadastramentoEstadoView.of(saved))));
         return ArquivoRecadastramentoEstadoDto.fromEntity(saved);
     }
 
+    /**
+     * Create or overwrite many records in one call (matched by codigo).
+     *
+     * Validation: every DTO is checked with the Default and Create groups before anything is
+     * written (there is no @Valid binding step for list elements), so a single invalid element
+     * rejects the whole request. Rows are then written with the JDBC-batched upsertAll, one
+     * statement per row instead of existsById + merge select + insert.
+     *
+     * @param dtos data to write; when a codigo repeats, the last occurrence wins
+     * @return number of written rows
+     * @throws ConstraintViolationException when any element fails validation
+     */
+    @Transactional
+    public int upsertAll(List<ArquivoRecadastramentoEstadoDto> dtos) {
+        Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> violations = new HashSet<>();
+        List<ArquivoRecadastramentoEstado> entities = new ArrayList<>(dtos.size());
+        for (ArquivoRecadastramentoEstadoDto dto : dtos) {
+            if (dto == null) {
+                throw new IllegalArgumentException("Batch must not contain null elements");
+            }
+            Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> dtoViolations =
+                    validator.validate(dto, Default.class, ArquivoRecadastramentoEstadoDto.Create.class);
+            metrics.validated("ArquivoRecadastramentoEstadoDto", "create", dtoViolations.isEmpty());
+            violations.addAll(dtoViolations);
+            entities.add(dto.toEntity());
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("ArquivoRecadastramentoEstadoDto validation failed for batch upsert", violations);
+        }
+        // Upserts overwrite existing rows, so every codigo of the batch may be cached.
+        viewCache.invalidateAfterCommit(entities.stream().map(ArquivoRecadastramentoEstado::getCodigo).toList());
+        resultCache.invalidateAfterCommit(RESULT_TABLE);
+        int written = repository.upsertAll(entities);
+        eventPublisher.publishEvent(RecadastramentoChangedEvent.saved(
+                entities.stream().map(ArquivoRecadastramentoEstadoView::of).toList()));
+        return written;
+    }
+
     /**
      * Update an existing ArquivoRecadastramentoEstado using values from the provided DTO.
      *
@@ -99,6 +188,7 @@ public class ArquivoRecadastramentoEstadoService {
     public ArquivoRecadastramentoEstadoDto update(ArquivoRecadastramentoEstadoDto dto) {
         Set<ConstraintViolation<ArquivoRecadastramentoEstadoDto>> violations =
                 validator.validate(dto, ArquivoRecadastramentoEstadoDto.Update.class);
+        metrics.validated("ArquivoRecadastramentoEstadoDto", "update", violations.isEmpty());
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException("ArquivoRecadastramentoEstadoDto validation failed for update", violations);
         }
@@ -118,7 +208,7 @@ public class ArquivoRecadastramentoEstadoService {
             existing.setCodigoSec(dto.getCodigoSec());
         }
         if (dto.getDataMovimentacao() != null) {
-            existing.setDataMovimentacao(dto.getDataMovimentacao());
+            existing.setDataMovimentacao(ArquivoRecadastramentoEstado.parseDataMovimentacao(dto.getDataMovimentacao()));
         }
         if (dto.getAnoBase() != null) {
             existing.setAnoBase(dto.getAnoBase());
@@ -134,6 +224,9 @@ public class ArquivoRecadastramentoEstadoService {
         }
 
         ArquivoRecadastramentoEstado saved = repository.save(existing);
+        viewCache.invalidateAfterCommit(List.of(saved.getCodigo()));
+        resultCache.invalidateAfterCommit(RESULT_TABLE);
+        eventPublisher.publishEvent(RecadastramentoChangedEvent.saved(List.of(ArquivoRecadastramentoEstadoView.of(saved))));
         return ArquivoRecadastramentoEstadoDto.fromEntity(saved);
     }
 
@@ -151,6 +244,20 @@ public class ArquivoRecadastramentoEstadoService {
                 .orElseThrow(() -> new NoSuchElementException("ArquivoRecadastramentoEstado not found with codigo: " + codigo));
     }
 
+    /**
+     * Find the read-only view of a record by codigo (projection query, no managed entity).
+     *
+     * Served from the read cache when possible (not @Transactional, so a hit borrows no connection).
+     *
+     * @param codigo primary key
+     * @return view of the record
+     * @throws NoSuchElementException when not found
+     */
+    public ArquivoRecadastramentoEstadoView findViewById(String codigo) {
+        return viewCache.get(codigo, repository::findViewById)
+                .orElseThrow(() -> new NoSuchElementException("ArquivoRecadastramentoEstado not found with codigo: " + codigo));
+    }
+
     /**
      * Return all records.
      *
@@ -163,6 +270,92 @@ public class ArquivoRecadastramentoEstadoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Return read-only views of all records ordered by codigo (projection query).
+     *
+     * @return list of views
+     */
+    @Transactional(readOnly = true)
+    public List<ArquivoRecadastramentoEstadoView> findAllViews() {
+        return repository.findAllViews();
+    }
+
+    /**
+     * Return one page of records ordered by codigo.
+     *
+     * @param after codigo of the last row of the previous page, or null for the first page
+     * @param limit page size (1..KeysetPageRequest.MAX_LIMIT)
+     * @return page of views and the key of the next page
+     * @throws IllegalArgumentException when limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArquivoRecadastramentoEstadoView, String> findPage(String after, int limit) {
+        return repository.findPage(new KeysetPageRequest<>(after, limit));
+    }
+
+    /**
+     * Hand every record to the consumer, in codigo order, without materializing the table.
+     *
+     * The transaction (and the database cursor) stays open until the consumer has seen the last
+     * row, so the consumer should do no more than write the row out.
+     *
+     * @param consumer receiver of each row
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ArquivoRecadastramentoEstadoView> consumer) {
+        try (Stream<ArquivoRecadastramentoEstadoView> rows = repository.streamAll()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * Return one page of the records moved between two dates (inclusive), ordered by date and codigo.
+     *
+     * @param inicio first date of the range
+     * @param fim last date of the range
+     * @param after position of the last row of the previous page, or null for the first page
+     * @param limit page size (1..KeysetPageRequest.MAX_LIMIT)
+     * @return page of views and the key of the next page
+     * @throws IllegalArgumentException when the range is reversed or limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArquivoRecadastramentoEstadoView, DataMovimentacaoKey> findPageByDataMovimentacao(
+            LocalDate inicio, LocalDate fim, DataMovimentacaoKey after, int limit) {
+        checkDataMovimentacaoRange(inicio, fim);
+        return repository.findPageByDataMovimentacao(inicio, fim, new KeysetPageRequest<>(after, limit));
+    }
+
+    /**
+     * Hand every record moved between two dates (inclusive) to the consumer, ordered by date and
+     * codigo, without materializing the range (see exportAll).
+     *
+     * @param inicio first date of the range
+     * @param fim last date of the range
+     * @param consumer receiver of each row
+     * @throws IllegalArgumentException when the range is reversed
+     */
+    @Transactional(readOnly = true)
+    public void exportByDataMovimentacao(LocalDate inicio, LocalDate fim, Consumer<ArquivoRecadastramentoEstadoView> consumer) {
+        checkDataMovimentacaoRange(inicio, fim);
+        try (Stream<ArquivoRecadastramentoEstadoView> rows = repository.streamByDataMovimentacao(inicio, fim)) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * Reject a missing or reversed dataMovimentacao range.
+     *
+     * Public so a streaming caller can check the range before the response is committed (the
+     * export methods check it again).
+     *
+     * @throws IllegalArgumentException when a bound is null or inicio is after fim
+     */
+    public void checkDataMovimentacaoRange(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Invalid dataMovimentacao range: " + inicio + " to " + fim);
+        }
+    }
+
     /**
      * Delete by codigo.
      *
@@ -175,6 +368,18 @@ public class ArquivoRecadastramentoEstadoService {
             throw new NoSuchElementException("ArquivoRecadastramentoEstado not found with codigo: " + codigo);
         }
         repository.deleteById(codigo);
+        viewCache.invalidateAfterCommit(List.of(codigo));
+        resultCache.invalidateAfterCommit(RESULT_TABLE);
+        eventPublisher.publishEvent(RecadastramentoChangedEvent.deleted(codigo));
+    }
+
+    /**
+     * Counters of the findViewById cache.
+     *
+     * @return hits, misses, evictions and expirations since startup
+     */
+    public ReadCache.Stats cacheStats() {
+        return viewCache.stats();
     }
 
     /**
@@ -196,19 +401,31 @@ public class ArquivoRecadastramentoEstadoService {
      */
     @Transactional(readOnly = true)
     public List<ArquivoRecadastramentoEstadoDto> findByAnoBase(String anoBase) {
+        List<ArquivoRecadastramentoEstadoDto> dtos = listByAnoBase(anoBase);
+        metrics.finderRows(METRICS_NAME, "findByAnoBase", dtos.size());
+        return dtos;
+    }
+
+    private List<ArquivoRecadastramentoEstadoDto> listByAnoBase(String anoBase) {
         return repository.findByAnoBase(anoBase).stream()
                 .map(ArquivoRecadastramentoEstadoDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Find records by CNPJ.
+     * Find records by CNPJ (any formatting; matched on the numeric key).
      *
      * @param cnpj cnpj string
      * @return list of DTOs
      */
     @Transactional(readOnly = true)
     public List<ArquivoRecadastramentoEstadoDto> findByCnpj(String cnpj) {
+        List<ArquivoRecadastramentoEstadoDto> dtos = listByCnpj(cnpj);
+        metrics.finderRows(METRICS_NAME, "findByCnpj", dtos.size());
+        return dtos;
+    }
+
+    private List<ArquivoRecadastramentoEstadoDto> listByCnpj(String cnpj) {
         return repository.findByCnpj(cnpj).stream()
                 .map(ArquivoRecadastramentoEstadoDto::fromEntity)
                 .collect(Collectors.toList());
@@ -222,11 +439,60 @@ public class ArquivoRecadastramentoEstadoService {
      */
     @Transactional(readOnly = true)
     public List<ArquivoRecadastramentoEstadoDto> findByBairro(String bairro) {
+        List<ArquivoRecadastramentoEstadoDto> dtos = listByBairro(bairro);
+        metrics.finderRows(METRICS_NAME, "findByBairro", dtos.size());
+        return dtos;
+    }
+
+    private List<ArquivoRecadastramentoEstadoDto> listByBairro(String bairro) {
         return repository.findByBairro(bairro).stream()
                 .map(ArquivoRecadastramentoEstadoDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * JSON array of findByAnoBase, served from the query result cache.
+     *
+     * Not @Transactional: a hit runs no query; a miss runs in the repository's read-only transaction.
+     * finder.rows is recorded on hits and misses alike, from the row count cached with the JSON.
+     *
+     * @param anoBase year string
+     * @return JSON bytes of the DTO list
+     */
+    public byte[] findByAnoBaseJson(String anoBase) {
+        QueryResultCache.Result result = resultCache.get(RESULT_TABLE, "findByAnoBase", anoBase,
+                () -> listByAnoBase(anoBase));
+        metrics.finderRows(METRICS_NAME, "findByAnoBase", result.rows());
+        return result.json();
+    }
+
+    /**
+     * JSON array of findByCnpj, served from the query result cache.
+     *
+     * @param cnpj cnpj string
+     * @return JSON bytes of the DTO list
+     */
+    public byte[] findByCnpjJson(String cnpj) {
+        // Keyed by the numeric CNPJ so every formatting of the same CNPJ shares one entry.
+        QueryResultCache.Result result = resultCache.get(RESULT_TABLE, "findByCnpj", ArquivoRecadastramentoEstado.normalizeCnpj(cnpj),
+                () -> listByCnpj(cnpj));
+        metrics.finderRows(METRICS_NAME, "findByCnpj", result.rows());
+        return result.json();
+    }
+
+    /**
+     * JSON array of findByBairro, served from the query result cache.
+     *
+     * @param bairro neighbourhood string
+     * @return JSON bytes of the DTO list
+     */
+    public byte[] findByBairroJson(String bairro) {
+        QueryResultCache.Result result = resultCache.get(RESULT_TABLE, "findByBairro", bairro,
+                () -> listByBairro(bairro));
+        metrics.finderRows(METRICS_NAME, "findByBairro", result.rows());
+        return result.json();
+    }
+
     /**
      * Count total records.
      *
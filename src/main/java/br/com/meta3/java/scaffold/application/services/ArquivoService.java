@@ -1,17 +1,38 @@
 package br.com.meta3.java.scaffold.application.services;
 
 import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoEstatisticasDto;
+import br.com.meta3.java.scaffold.application.cache.QueryResultCache;
+import br.com.meta3.java.scaffold.application.cache.ReadCache;
+import br.com.meta3.java.scaffold.application.metrics.ServiceMetrics;
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoResumoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPageRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -35,16 +56,50 @@ import org.springframework.transaction.annotation.Transactional;
  *   be required (e.g., Optional-wrapping or explicit flags).
  * - Exceptions thrown are generic (ConstraintViolationException, NoSuchElementException,
  *   IllegalArgumentException). Controllers should translate them to appropriate HTTP responses.
+ * - Every create, update and delete also applies the change of the counters to the arquivo_resumo
+ *   summary table (ArquivoResumoRepository) in the same transaction, so statistics are read from
+ *   one row per (anovigencia, codigoescola) instead of aggregating the arquivo table.
+ * - Every write publishes an ArquivoChangedEvent so in-memory copies of the table (e.g., the
+ *   ArquivoAnalyticsService snapshot) know they are stale once the transaction commits.
+ * - findViewById is served from a bounded LRU/TTL cache (ReadCache) of immutable views; update and
+ *   deleteById invalidate the id once their transaction completes.
+ * - The findByCodigoescola/findByAnovigencia listings are also available as cached JSON
+ *   (QueryResultCache, table RESULT_TABLE); every write bumps the table generation.
+ * - Every public method is timed (service.calls, @Timed at class level). Calls between methods of
+ *   this class bypass the proxy and are not timed separately (e.g., findByCodigoescola from the
+ *   cached JSON variant); finder row counts and validation outcomes go to ServiceMetrics.
  */
 @Service
+@Timed(value = "service.calls", extraTags = {"service", "arquivo"}, histogram = true)
 public class ArquivoService {
 
+    /**
+     * QueryResultCache table name of arquivo.
+     */
+    public static final String RESULT_TABLE = "arquivo";
+
+    // Service tag of the ServiceMetrics meters.
+    private static final String METRICS_NAME = "arquivo";
+
     private final ArquivoRepository repository;
+    private final ArquivoResumoRepository resumoRepository;
     private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadCache<Integer, ArquivoView> viewCache;
+    private final QueryResultCache resultCache;
+    private final ServiceMetrics metrics;
 
-    public ArquivoService(ArquivoRepository repository, Validator validator) {
+    public ArquivoService(ArquivoRepository repository, ArquivoResumoRepository resumoRepository, Validator validator,
+                          ApplicationEventPublisher eventPublisher, QueryResultCache resultCache, ServiceMetrics metrics,
+                          @Value("${cache.read.max-entries:10000}") int cacheMaxEntries,
+                          @Value("${cache.read.ttl:PT5M}") Duration cacheTtl) {
         this.repository = repository;
+        this.resumoRepository = resumoRepository;
         this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.viewCache = new ReadCache<>("arquivo", cacheMaxEntries, cacheTtl);
     }
 
     /**
@@ -61,6 +116,7 @@ public class ArquivoService {
     public ArquivoDto create(ArquivoDto dto) {
         // Validate DTO for create semantics
         Set<ConstraintViolation<ArquivoDto>> violations = validator.validate(dto, ArquivoDto.Create.class);
+        metrics.validated("ArquivoDto", "create", violations.isEmpty());
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException("ArquivoDto validation failed for create", violations);
         }
@@ -76,9 +132,49 @@ public class ArquivoService {
         entity.setCodigoarquivo(null);
 
         Arquivo saved = repository.save(entity);
+        applyResumo(List.of(delta(saved, 1)));
         return ArquivoDto.fromEntity(saved);
     }
 
+    /**
+     * Create many Arquivo records in one transaction.
+     *
+     * Validation: every DTO is checked with the Create group (and must not contain an id) before
+     * anything is written, so one invalid element rejects the whole request. Ids come from the
+     * pooled sequence and the rows are inserted in JDBC batches.
+     *
+     * @param dtos data for creation
+     * @return created Arquivo DTOs with generated ids, in request order
+     * @throws ConstraintViolationException when any element fails validation
+     * @throws IllegalArgumentException when an element is null or contains an id
+     */
+    @Transactional
+    public List<ArquivoDto> createAll(List<ArquivoDto> dtos) {
+        Set<ConstraintViolation<ArquivoDto>> violations = new HashSet<>();
+        List<Arquivo> entities = new ArrayList<>(dtos.size());
+        for (ArquivoDto dto : dtos) {
+            if (dto == null) {
+                throw new IllegalArgumentException("Batch must not contain null elements");
+            }
+            if (dto.getCodigoarquivo() != null) {
+                throw new IllegalArgumentException("codigoarquivo must be null when creating a new Arquivo");
+            }
+            Set<ConstraintViolation<ArquivoDto>> dtoViolations = validator.validate(dto, ArquivoDto.Create.class);
+            metrics.validated("ArquivoDto", "create", dtoViolations.isEmpty());
+            violations.addAll(dtoViolations);
+            entities.add(dto.toEntity());
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("ArquivoDto validation failed for batch create", violations);
+        }
+
+        List<Arquivo> saved = repository.insertAll(entities);
+        applyResumo(saved.stream().map(arquivo -> delta(arquivo, 1)).collect(Collectors.toList()));
+        return saved.stream()
+                .map(ArquivoDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Update an existing Arquivo using values from the provided DTO.
      *
@@ -95,6 +191,7 @@ public class ArquivoService {
     public ArquivoDto update(ArquivoDto dto) {
         // Validate DTO for update semantics
         Set<ConstraintViolation<ArquivoDto>> violations = validator.validate(dto, ArquivoDto.Update.class);
+        metrics.validated("ArquivoDto", "update", violations.isEmpty());
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException("ArquivoDto validation failed for update", violations);
         }
@@ -106,6 +203,8 @@ public class ArquivoService {
 
         Optional<Arquivo> existingOpt = repository.findById(id);
         Arquivo existing = existingOpt.orElseThrow(() -> new NoSuchElementException("Arquivo not found with id: " + id));
+        // Captured before the changes: the old values are subtracted from their (possibly different) group.
+        ArquivoEstatistica before = delta(existing, -1);
 
         // Partial update: only non-null fields on the DTO overwrite the entity fields
         // TODO: (REVIEW) This approach preserves existing data when fields are omitted.
@@ -136,6 +235,8 @@ public class ArquivoService {
         }
 
         Arquivo saved = repository.save(existing);
+        applyResumo(List.of(before, delta(saved, 1)));
+        viewCache.invalidateAfterCommit(List.of(id));
         return ArquivoDto.fromEntity(saved);
     }
 
@@ -153,6 +254,21 @@ public class ArquivoService {
                 .orElseThrow(() -> new NoSuchElementException("Arquivo not found with id: " + id));
     }
 
+    /**
+     * Find the read-only view of an Arquivo by id (projection query, no managed entity).
+     *
+     * Served from the read cache when possible. Not @Transactional on purpose: a cache hit must not
+     * borrow a connection; a miss runs the repository's own read-only transaction.
+     *
+     * @param id primary key
+     * @return Arquivo view if found
+     * @throws NoSuchElementException when not found
+     */
+    public ArquivoView findViewById(Integer id) {
+        return viewCache.get(id, repository::findViewById)
+                .orElseThrow(() -> new NoSuchElementException("Arquivo not found with id: " + id));
+    }
+
     /**
      * Return all Arquivo records.
      *
@@ -165,6 +281,47 @@ public class ArquivoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Return read-only views of all Arquivo ordered by codigoarquivo.
+     *
+     * Used by the read endpoints: the projection query skips entity instantiation, persistence
+     * context bookkeeping and the entity-to-DTO copy.
+     *
+     * @return list of Arquivo views
+     */
+    @Transactional(readOnly = true)
+    public List<ArquivoView> findAllViews() {
+        return repository.findAllViews();
+    }
+
+    /**
+     * Return one page of Arquivo ordered by codigoarquivo.
+     *
+     * @param after codigoarquivo of the last row of the previous page, or null for the first page
+     * @param limit page size (1..KeysetPageRequest.MAX_LIMIT)
+     * @return page of views and the key of the next page
+     * @throws IllegalArgumentException when limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArquivoView, Integer> findPage(Integer after, int limit) {
+        return repository.findPage(new KeysetPageRequest<>(after, limit));
+    }
+
+    /**
+     * Hand every Arquivo to the consumer, in codigoarquivo order, without materializing the table.
+     *
+     * The transaction (and the database cursor) stays open until the consumer has seen the last
+     * row, so the consumer should do no more than write the row out.
+     *
+     * @param consumer receiver of each row
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ArquivoView> consumer) {
+        try (Stream<ArquivoView> rows = repository.streamAll()) {
+            rows.forEach(consumer);
+        }
+    }
+
     /**
      * Delete an Arquivo by id.
      *
@@ -173,10 +330,20 @@ public class ArquivoService {
      */
     @Transactional
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new NoSuchElementException("Arquivo not found with id: " + id);
-        }
+        Arquivo existing = repository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Arquivo not found with id: " + id));
+        applyResumo(List.of(delta(existing, -1)));
         repository.deleteById(id);
+        viewCache.invalidateAfterCommit(List.of(id));
+    }
+
+    /**
+     * Counters of the findViewById cache.
+     *
+     * @return hits, misses, evictions and expirations since startup
+     */
+    public ReadCache.Stats cacheStats() {
+        return viewCache.stats();
     }
 
     /**
@@ -198,6 +365,12 @@ public class ArquivoService {
      */
     @Transactional(readOnly = true)
     public List<ArquivoDto> findByCodigoescola(String codigoescola) {
+        List<ArquivoDto> dtos = listByCodigoescola(codigoescola);
+        metrics.finderRows(METRICS_NAME, "findByCodigoescola", dtos.size());
+        return dtos;
+    }
+
+    private List<ArquivoDto> listByCodigoescola(String codigoescola) {
         return repository.findByCodigoescola(codigoescola).stream()
                 .map(ArquivoDto::fromEntity)
                 .collect(Collectors.toList());
@@ -211,11 +384,134 @@ public class ArquivoService {
      */
     @Transactional(readOnly = true)
     public List<ArquivoDto> findByAnovigencia(String anovigencia) {
+        List<ArquivoDto> dtos = listByAnovigencia(anovigencia);
+        metrics.finderRows(METRICS_NAME, "findByAnovigencia", dtos.size());
+        return dtos;
+    }
+
+    private List<ArquivoDto> listByAnovigencia(String anovigencia) {
         return repository.findByAnovigencia(anovigencia).stream()
                 .map(ArquivoDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Aggregate the Arquivo counters (quantidaderegistro, aptos, semdocumento, comcodigosetps,
+     * comerro) in the database, with optional roll-ups.
+     *
+     * Replaces loading every Arquivo of a school or year and adding the counters up in the caller.
+     * The sums are taken over the arquivo_resumo summary rows, not over the arquivo table.
+     *
+     * @param porEscola also return one row per codigoescola
+     * @param porAno also return one row per anovigencia
+     * @return overall totals and the requested roll-ups
+     */
+    @Transactional(readOnly = true)
+    public ArquivoEstatisticasDto estatisticas(boolean porEscola, boolean porAno) {
+        ArquivoEstatisticasDto dto = new ArquivoEstatisticasDto(resumoRepository.sumTotal());
+        if (porEscola) {
+            dto.setPorEscola(resumoRepository.sumByCodigoescola());
+        }
+        if (porAno) {
+            dto.setPorAno(resumoRepository.sumByAnovigencia());
+        }
+        return dto;
+    }
+
+    /**
+     * Return the totals of one (anovigencia, codigoescola) group with a single-row lookup.
+     *
+     * @param anovigencia year of validity (null or blank means Arquivo without a year)
+     * @param codigoescola school code (null or blank means Arquivo without a school)
+     * @return totals of the group; all counters are 0 when it has no Arquivo
+     */
+    @Transactional(readOnly = true)
+    public ArquivoEstatistica resumo(String anovigencia, String codigoescola) {
+        String ano = AnoConverter.normalize(anovigencia);
+        String escola = chave(codigoescola);
+        return resumoRepository.findResumo(ano, escola)
+                .orElseGet(() -> new ArquivoEstatistica(escola, ano, 0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    /**
+     * Regenerate the arquivo_resumo summary table from the arquivo table.
+     *
+     * Meant for the initial load and to repair the summary after changes made outside this service
+     * (e.g., manual SQL). Runs under SERIALIZABLE isolation (see ArquivoResumoJdbcRepositoryImpl):
+     * when an Arquivo change conflicts with it, one of them fails and can be retried.
+     *
+     * @return number of (anovigencia, codigoescola) groups written
+     * @throws org.springframework.dao.ConcurrencyFailureException when a concurrent Arquivo change conflicted
+     */
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public int rebuildResumo() {
+        return resumoRepository.rebuild();
+    }
+
+    /**
+     * Merge the deltas per group, drop the ones that cancel out and apply the rest to the summary.
+     */
+    private void applyResumo(List<ArquivoEstatistica> deltas) {
+        Map<List<String>, ArquivoEstatistica> perGroup = new LinkedHashMap<>();
+        for (ArquivoEstatistica delta : deltas) {
+            perGroup.merge(List.of(delta.anovigencia(), delta.codigoescola()), delta, ArquivoEstatistica::plus);
+        }
+        perGroup.values().removeIf(ArquivoEstatistica::isZero);
+        resumoRepository.applyDeltas(perGroup.values());
+        resultCache.invalidateAfterCommit(RESULT_TABLE);
+        eventPublisher.publishEvent(new ArquivoChangedEvent());
+    }
+
+    /**
+     * Counters of one Arquivo as a summary delta (sign +1 to add it, -1 to remove it).
+     */
+    private static ArquivoEstatistica delta(Arquivo arquivo, int sign) {
+        // anovigencia is normalized by Arquivo.setAnovigencia, so the key matches the year rebuild() reads back.
+        return new ArquivoEstatistica(chave(arquivo.getCodigoescola()), chave(arquivo.getAnovigencia()), (long) sign,
+                (long) sign * valor(arquivo.getQuantidaderegistro()),
+                (long) sign * valor(arquivo.getAptos()),
+                (long) sign * valor(arquivo.getSemdocumento()),
+                (long) sign * valor(arquivo.getComcodigosetps()),
+                (long) sign * valor(arquivo.getComerro()));
+    }
+
+    private static String chave(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static long valor(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * JSON array of findByCodigoescola, served from the query result cache.
+     *
+     * Not @Transactional: a hit runs no query; a miss runs in the repository's read-only transaction.
+     * finder.rows is recorded on hits and misses alike, from the row count cached with the JSON.
+     *
+     * @param codigoescola school code
+     * @return JSON bytes of the DTO list
+     */
+    public byte[] findByCodigoescolaJson(String codigoescola) {
+        QueryResultCache.Result result = resultCache.get(RESULT_TABLE, "findByCodigoescola", codigoescola,
+                () -> listByCodigoescola(codigoescola));
+        metrics.finderRows(METRICS_NAME, "findByCodigoescola", result.rows());
+        return result.json();
+    }
+
+    /**
+     * JSON array of findByAnovigencia, served from the query result cache.
+     *
+     * @param anovigencia year string
+     * @return JSON bytes of the DTO list
+     */
+    public byte[] findByAnovigenciaJson(String anovigencia) {
+        QueryResultCache.Result result = resultCache.get(RESULT_TABLE, "findByAnovigencia", anovigencia,
+                () -> listByAnovigencia(anovigencia));
+        metrics.finderRows(METRICS_NAME, "findByAnovigencia", result.rows());
+        return result.json();
+    }
+
     /**
      * Count total Arquivo records.
      *
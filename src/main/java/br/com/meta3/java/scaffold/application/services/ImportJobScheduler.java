@@ -0,0 +1,274 @@
+package br.com.meta3.java.scaffold.application.services;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoImportacaoDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportJobDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportResultDto;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application service running checkpointed import jobs asynchronously.
+ *
+ * Responsibilities:
+ * - Accept a job (store the upload, create the Arquivo summary and the checkpoints) and return its
+ *   id right away; the records are imported on a virtual thread.
+ * - Resume unfinished jobs in the background.
+ * - Track the status of the jobs submitted to this instance for polling.
+ *
+ * Design notes:
+ * - Concurrency is limited at three levels: max-concurrent-jobs jobs run at the same time; within a
+ *   job at most parallelism ranges are imported at once; and all jobs share max-workers worker
+ *   permits (see ArquivoRecadastramentoEstadoImportService), which keeps the total below the
+ *   connection pool. Jobs not started yet are limited to max-queued-jobs; beyond that submissions
+ *   are rejected so the caller can retry later.
+ * - Inside each worker the parse and persist stages are connected by a bounded queue (BatchHandOff),
+ *   so a slow database throttles the parsers instead of letting batches pile up in memory.
+ * - Job state is kept in memory only. After a restart the status is derived from the committed
+ *   checkpoints (INTERROMPIDA when unfinished) and the job can be resumed.
+ * - Waiting jobs block a virtual thread on the semaphore, which costs no platform thread.
+ *
+ * TODO: (REVIEW) Finished jobs are pruned from memory (oldest first) beyond MAX_TRACKED_JOBS; their
+ * status is then served from the checkpoints and the detailed result is no longer available.
+ */
+@Service
+public class ImportJobScheduler {
+
+    public static final String STATUS_AGUARDANDO = "AGUARDANDO";
+    public static final String STATUS_EXECUTANDO = ArquivoImportacao.STATUS_EXECUTANDO;
+    public static final String STATUS_CONCLUIDA = ArquivoImportacao.STATUS_CONCLUIDA;
+    public static final String STATUS_FALHA = ArquivoImportacao.STATUS_FALHA;
+    public static final String STATUS_INTERROMPIDA = "INTERROMPIDA";
+
+    private static final int MAX_TRACKED_JOBS = 1000;
+
+    private final ArquivoRecadastramentoEstadoImportService importService;
+    private final Semaphore jobPermits;
+    private final int maxQueuedJobs;
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, JobState> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobScheduler(ArquivoRecadastramentoEstadoImportService importService,
+                              @Value("${recadastramento.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                              @Value("${recadastramento.import.max-queued-jobs:50}") int maxQueuedJobs) {
+        this.importService = importService;
+        this.jobPermits = new Semaphore(Math.max(1, maxConcurrentJobs), true);
+        this.maxQueuedJobs = Math.max(1, maxQueuedJobs);
+    }
+
+    /**
+     * Store an uploaded fixed-width file, create its job and schedule it.
+     *
+     * @param input raw file contents; not closed by this method
+     * @param summary Arquivo summary header (nomearquivo, anovigencia, codigoescola)
+     * @return the queued job
+     * @throws IOException when the upload cannot be stored
+     * @throws RejectedExecutionException when too many jobs are already waiting
+     */
+    public ImportJobDto submit(InputStream input, ArquivoDto summary) throws IOException {
+        // Reject before reading the body so an overloaded instance does not fill the disk.
+        reserveQueueSlot();
+        ArquivoDto arquivo;
+        try {
+            Path file = importService.storeUpload(input);
+            arquivo = importService.createJob(file, summary);
+        } catch (IOException | RuntimeException ex) {
+            queuedJobs.decrementAndGet();
+            throw ex;
+        }
+        JobState state = new JobState(arquivo.getCodigoarquivo());
+        jobs.put(state.codigoarquivo, state);
+        schedule(state);
+        return toDto(state);
+    }
+
+    /**
+     * Schedule an unfinished job to continue from its last committed checkpoints.
+     *
+     * @param codigoarquivo job id
+     * @return the queued job
+     * @throws java.util.NoSuchElementException when there is no such job
+     * @throws IllegalStateException when the job is already queued or running
+     * @throws RejectedExecutionException when too many jobs are already waiting
+     */
+    public ImportJobDto resume(Integer codigoarquivo) {
+        importService.findJob(codigoarquivo);
+        JobState state = new JobState(codigoarquivo);
+        JobState previous = jobs.compute(codigoarquivo, (id, current) -> {
+            if (current != null && current.isActive()) {
+                return current;
+            }
+            return state;
+        });
+        if (previous != state) {
+            throw new IllegalStateException("Import job " + codigoarquivo + " is already " + previous.status);
+        }
+        try {
+            reserveQueueSlot();
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(codigoarquivo, state);
+            throw ex;
+        }
+        schedule(state);
+        return toDto(state);
+    }
+
+    /**
+     * Return the status of a job, including the progress of each range.
+     *
+     * @param codigoarquivo job id
+     * @return job status
+     * @throws java.util.NoSuchElementException when there is no such job
+     */
+    public ImportJobDto findById(Integer codigoarquivo) {
+        JobState state = jobs.get(codigoarquivo);
+        // Checkpoints are read even for running jobs: they are the committed progress.
+        List<ArquivoImportacaoDto> particoes = importService.findJob(codigoarquivo);
+        ImportJobDto dto = state != null ? toDto(state) : new ImportJobDto(codigoarquivo, statusOf(particoes));
+        dto.setParticoes(particoes);
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs are interrupted; their committed checkpoints allow resuming them later.
+        executor.shutdownNow();
+    }
+
+    private void reserveQueueSlot() {
+        if (queuedJobs.incrementAndGet() > maxQueuedJobs) {
+            queuedJobs.decrementAndGet();
+            throw new RejectedExecutionException("Too many import jobs waiting; try again later");
+        }
+    }
+
+    private void schedule(JobState state) {
+        try {
+            executor.execute(() -> run(state));
+        } catch (RejectedExecutionException ex) {
+            queuedJobs.decrementAndGet();
+            state.fail(ex);
+            throw ex;
+        }
+        pruneFinishedJobs();
+    }
+
+    private void run(JobState state) {
+        try {
+            jobPermits.acquire();
+        } catch (InterruptedException ex) {
+            queuedJobs.decrementAndGet();
+            Thread.currentThread().interrupt();
+            state.fail(ex);
+            return;
+        }
+        queuedJobs.decrementAndGet();
+        try {
+            state.start();
+            state.complete(importService.runJob(state.codigoarquivo));
+        } catch (IOException | RuntimeException ex) {
+            state.fail(ex);
+        } finally {
+            jobPermits.release();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        int excess = jobs.size() - MAX_TRACKED_JOBS;
+        if (excess <= 0) {
+            return;
+        }
+        Iterator<JobState> finished = jobs.values().stream()
+                .filter(job -> !job.isActive())
+                .sorted(Comparator.comparing(JobState::finishedAt))
+                .limit(excess)
+                .iterator();
+        while (finished.hasNext()) {
+            JobState job = finished.next();
+            jobs.remove(job.codigoarquivo, job);
+        }
+    }
+
+    private static String statusOf(List<ArquivoImportacaoDto> particoes) {
+        boolean concluida = true;
+        for (ArquivoImportacaoDto particao : particoes) {
+            if (STATUS_FALHA.equals(particao.getStatus())) {
+                return STATUS_FALHA;
+            }
+            concluida &= STATUS_CONCLUIDA.equals(particao.getStatus());
+        }
+        return concluida ? STATUS_CONCLUIDA : STATUS_INTERROMPIDA;
+    }
+
+    private static ImportJobDto toDto(JobState state) {
+        synchronized (state) {
+            ImportJobDto dto = new ImportJobDto(state.codigoarquivo, state.status);
+            dto.setSubmetidoEm(state.submetidoEm);
+            dto.setIniciadoEm(state.iniciadoEm);
+            dto.setFinalizadoEm(state.finalizadoEm);
+            dto.setErro(state.erro);
+            dto.setResultado(state.resultado);
+            return dto;
+        }
+    }
+
+    /**
+     * In-memory lifecycle of one job run; transitions happen on the job thread, reads on request threads.
+     */
+    private static final class JobState {
+
+        private final Integer codigoarquivo;
+        private final Instant submetidoEm = Instant.now();
+        private String status = STATUS_AGUARDANDO;
+        private Instant iniciadoEm;
+        private Instant finalizadoEm;
+        private String erro;
+        private ImportResultDto resultado;
+
+        private JobState(Integer codigoarquivo) {
+            this.codigoarquivo = codigoarquivo;
+        }
+
+        private synchronized boolean isActive() {
+            return STATUS_AGUARDANDO.equals(status) || STATUS_EXECUTANDO.equals(status);
+        }
+
+        private synchronized Instant finishedAt() {
+            return finalizadoEm;
+        }
+
+        private synchronized void start() {
+            status = STATUS_EXECUTANDO;
+            iniciadoEm = Instant.now();
+        }
+
+        private synchronized void complete(ImportResultDto result) {
+            status = STATUS_CONCLUIDA;
+            resultado = result;
+            finalizadoEm = Instant.now();
+        }
+
+        private synchronized void fail(Exception ex) {
+            status = STATUS_FALHA;
+            erro = ex.getMessage();
+            finalizadoEm = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.meta3.java.scaffold.application.services;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import java.util.List;
+
+/**
+ * Published whenever ArquivoRecadastramentoEstado rows are written or deleted, by
+ * ArquivoRecadastramentoEstadoService and by each committed import batch.
+ *
+ * Unlike ArquivoChangedEvent it carries the changed rows, so listeners can update their derived
+ * copies incrementally instead of reloading the table. Listeners should use
+ * @TransactionalEventListener(fallbackExecution = true): service writes are published inside their
+ * transaction, import batches after their commit.
+ *
+ * @param saved current state of the created, updated or upserted rows
+ * @param deleted codigos of the deleted rows
+ */
+public record RecadastramentoChangedEvent(List<ArquivoRecadastramentoEstadoView> saved, List<String> deleted) {
+
+    public static RecadastramentoChangedEvent saved(List<ArquivoRecadastramentoEstadoView> rows) {
+        return new RecadastramentoChangedEvent(rows, List.of());
+    }
+
+    public static RecadastramentoChangedEvent deleted(String codigo) {
+        return new RecadastramentoChangedEvent(List.of(), List.of(codigo));
+    }
+}
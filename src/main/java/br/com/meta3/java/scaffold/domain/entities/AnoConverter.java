@@ -0,0 +1,95 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps a year kept as String in the domain (legacy API: "2024", or "" when absent) to a SMALLINT column.
+ *
+ * Design notes:
+ * - The entities, DTOs and service signatures keep their String years; only the storage changes.
+ *   Rows and indexes shrink from VARCHAR(10) to 2 bytes and year filters compare integers.
+ * - A blank year is stored as NULL and read back as "", the legacy default.
+ * - Only blank or 4-digit years from 1000 (surrounding blanks allowed) are accepted, so every
+ *   accepted text survives the round trip through the column ("0999" would come back as "999").
+ *   REGEXP is used by @Pattern on the entities and DTOs so invalid values are rejected by
+ *   validation, before the converter would fail at flush time.
+ * - Bulk JDBC paths call toColumn/toAttribute directly so they store and read the same values.
+ * - ddl-auto=update does not convert existing VARCHAR year columns: they are converted once at
+ *   startup, with the values that are not years kept in quarantine tables (see SchemaMigrations).
+ */
+@Converter
+public class AnoConverter implements AttributeConverter<String, Short> {
+
+    /**
+     * Accepted text: blank, or a 4-digit year without leading zero.
+     */
+    public static final String REGEXP = "\\s*([1-9]\\d{3})?\\s*";
+
+    @Override
+    public Short convertToDatabaseColumn(String ano) {
+        return toColumn(ano);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short ano) {
+        return toAttribute(ano);
+    }
+
+    /**
+     * @param ano year text
+     * @return the year, or null when ano is null or blank
+     * @throws IllegalArgumentException when ano is not blank and not a year (see isYear)
+     */
+    public static Short toColumn(String ano) {
+        if (ano == null || ano.isBlank()) {
+            return null;
+        }
+        String value = ano.trim();
+        if (!isYear(value)) {
+            throw new IllegalArgumentException("Invalid year: " + ano);
+        }
+        return Short.valueOf(value);
+    }
+
+    /**
+     * @param ano stored year, possibly null
+     * @return the year as text, or "" when null
+     */
+    public static String toAttribute(Short ano) {
+        return ano == null ? "" : ano.toString();
+    }
+
+    /**
+     * The text the attribute has after a round trip through the column: "" for null or blank,
+     * otherwise trimmed. Setters apply it so in-memory values (and the arquivo_resumo keys derived
+     * from them) match what is stored; an invalid year is left for validation to reject.
+     *
+     * @param ano year text
+     * @return normalized year text, never null
+     */
+    public static String normalize(String ano) {
+        return ano == null ? "" : ano.trim();
+    }
+
+    /**
+     * True when the text is a 4-digit year without leading zero (surrounding blanks allowed); blank
+     * is not a year.
+     */
+    public static boolean isYear(String ano) {
+        if (ano == null) {
+            return false;
+        }
+        String value = ano.trim();
+        if (value.length() != 4 || value.charAt(0) == '0') {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,29 +1,47 @@
 package br.com.meta3.java.scaffold.domain.entities;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.io.Serializable;
 
 /**
  * Domain JPA entity migrated from legacy aluno.Arquivo.
+ *
+ * Design notes:
+ * - The id comes from a pooled sequence (arquivo_seq, allocationSize 50): Hibernate reserves a
+ *   block of 50 ids per sequence call and assigns them in memory, which keeps JDBC insert batching
+ *   enabled (IDENTITY columns force one round trip per insert to read the generated key).
+ * - (ano_vigencia, codigo_escola) serves findByAnovigencia through its leading column and lookups of
+ *   one school in one year; codigo_escola alone serves findByCodigoescola (see RepositoryQueryPlanTests).
  */
 @Entity
-@Table(name = "arquivo")
+@Table(name = "arquivo",
+        indexes = {
+                @Index(name = "idx_arquivo_ano_vigencia_codigo_escola", columnList = "ano_vigencia, codigo_escola"),
+                @Index(name = "idx_arquivo_codigo_escola", columnList = "codigo_escola")
+        })
 public class Arquivo implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     // Primary key mapped from legacy 'codigoarquivo'
+    // TODO: (REVIEW) allocationSize must match the sequence INCREMENT BY; keep them in sync if the
+    // schema is managed outside Hibernate.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "arquivo_seq")
+    @SequenceGenerator(name = "arquivo_seq", sequenceName = "arquivo_seq", allocationSize = 50)
     @Column(name = "codigo_arquivo")
     private Integer codigoarquivo;
 
@@ -61,9 +79,11 @@ public class Arquivo implements Serializable {
     @Column(name = "com_erro")
     private Integer comerro;
 
-    // Year of validity - kept as String to preserve legacy behaviour (was String).
-    @Size(max = 10)
-    @Column(name = "ano_vigencia", length = 10)
+    // Year of validity - String in the domain to preserve legacy behaviour, stored as SMALLINT
+    // (see AnoConverter). Blank or a 4-digit year.
+    @Pattern(regexp = AnoConverter.REGEXP)
+    @Convert(converter = AnoConverter.class)
+    @Column(name = "ano_vigencia")
     private String anovigencia = "";
 
     // School code - kept as String.
@@ -140,7 +160,7 @@ public class Arquivo implements Serializable {
     }
 
     public void setAnovigencia(String anovigencia) {
-        this.anovigencia = anovigencia;
+        this.anovigencia = AnoConverter.normalize(anovigencia);
     }
 
     public String getCodigoescola() {
@@ -0,0 +1,257 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Checkpoint of one partition of a recadastramento import job.
+ *
+ * An import job is identified by the Arquivo it fills (codigoarquivo) and is split into line-aligned
+ * byte ranges [inicio, fim) of the source file. Each range has one ArquivoImportacao row that is
+ * updated in the same transaction as every inserted batch, recording the byte offset right after the
+ * last committed record (offsetConfirmado) and the cumulative Arquivo counters for that range.
+ *
+ * Design notes:
+ * - A restarted job reads the rows of its codigoarquivo and parses each unfinished range starting at
+ *   offsetConfirmado, so committed records are neither parsed nor inserted again.
+ * - The file size is stored so a resume against a modified file is refused.
+ * - Status values: PENDENTE, EXECUTANDO, CONCLUIDA, FALHA.
+ * - The row is versioned (optimistic locking): an update based on an outdated copy, such as a late
+ *   checkpoint of an aborted run or a second run of the same job, fails instead of overwriting the
+ *   newer status or progress.
+ * - (codigo_arquivo, particao) is indexed so loading the checkpoints of a job reads them in order
+ *   without scanning the table.
+ */
+@Entity
+@Table(name = "arquivo_importacao",
+        indexes = @Index(name = "idx_arquivo_importacao_codigo_arquivo", columnList = "codigo_arquivo, particao"))
+public class ArquivoImportacao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String STATUS_PENDENTE = "PENDENTE";
+    public static final String STATUS_EXECUTANDO = "EXECUTANDO";
+    public static final String STATUS_CONCLUIDA = "CONCLUIDA";
+    public static final String STATUS_FALHA = "FALHA";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "codigo")
+    private Long codigo;
+
+    // Arquivo summary filled by this job.
+    @NotNull
+    @Column(name = "codigo_arquivo", nullable = false)
+    private Integer codigoarquivo;
+
+    // 0-based index of the range within the job.
+    @NotNull
+    @Min(0)
+    @Column(name = "particao", nullable = false)
+    private Integer particao;
+
+    @NotBlank
+    @Size(max = 1024)
+    @Column(name = "caminho_arquivo", length = 1024, nullable = false)
+    private String caminhoArquivo;
+
+    @NotNull
+    @Column(name = "tamanho_arquivo", nullable = false)
+    private Long tamanhoArquivo;
+
+    @NotNull
+    @Column(name = "inicio", nullable = false)
+    private Long inicio;
+
+    @NotNull
+    @Column(name = "fim", nullable = false)
+    private Long fim;
+
+    // Offset right after the last committed record; parsing resumes here.
+    @NotNull
+    @Column(name = "offset_confirmado", nullable = false)
+    private Long offsetConfirmado;
+
+    // Cumulative counters of the committed records of this range (same semantics as Arquivo).
+    @Column(name = "registros", nullable = false)
+    private Long registros = 0L;
+
+    @Column(name = "aptos", nullable = false)
+    private Long aptos = 0L;
+
+    @Column(name = "sem_documento", nullable = false)
+    private Long semdocumento = 0L;
+
+    @Column(name = "com_codigo_setps", nullable = false)
+    private Long comcodigosetps = 0L;
+
+    @Column(name = "com_erro", nullable = false)
+    private Long comerro = 0L;
+
+    @NotBlank
+    @Size(max = 20)
+    @Column(name = "status", length = 20, nullable = false)
+    private String status = STATUS_PENDENTE;
+
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ArquivoImportacao() {
+    }
+
+    // Getters and setters
+
+    public Long getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(Long codigo) {
+        this.codigo = codigo;
+    }
+
+    public Integer getCodigoarquivo() {
+        return codigoarquivo;
+    }
+
+    public void setCodigoarquivo(Integer codigoarquivo) {
+        this.codigoarquivo = codigoarquivo;
+    }
+
+    public Integer getParticao() {
+        return particao;
+    }
+
+    public void setParticao(Integer particao) {
+        this.particao = particao;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    public void setCaminhoArquivo(String caminhoArquivo) {
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    public Long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    public void setTamanhoArquivo(Long tamanhoArquivo) {
+        this.tamanhoArquivo = tamanhoArquivo;
+    }
+
+    public Long getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(Long inicio) {
+        this.inicio = inicio;
+    }
+
+    public Long getFim() {
+        return fim;
+    }
+
+    public void setFim(Long fim) {
+        this.fim = fim;
+    }
+
+    public Long getOffsetConfirmado() {
+        return offsetConfirmado;
+    }
+
+    public void setOffsetConfirmado(Long offsetConfirmado) {
+        this.offsetConfirmado = offsetConfirmado;
+    }
+
+    public Long getRegistros() {
+        return registros;
+    }
+
+    public void setRegistros(Long registros) {
+        this.registros = registros;
+    }
+
+    public Long getAptos() {
+        return aptos;
+    }
+
+    public void setAptos(Long aptos) {
+        this.aptos = aptos;
+    }
+
+    public Long getSemdocumento() {
+        return semdocumento;
+    }
+
+    public void setSemdocumento(Long semdocumento) {
+        this.semdocumento = semdocumento;
+    }
+
+    public Long getComcodigosetps() {
+        return comcodigosetps;
+    }
+
+    public void setComcodigosetps(Long comcodigosetps) {
+        this.comcodigosetps = comcodigosetps;
+    }
+
+    public Long getComerro() {
+        return comerro;
+    }
+
+    public void setComerro(Long comerro) {
+        this.comerro = comerro;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    /**
+     * True when every record of the range has been committed.
+     */
+    public boolean isConcluida() {
+        return STATUS_CONCLUIDA.equals(status);
+    }
+}
@@ -1,20 +1,30 @@
 package br.com.meta3.java.scaffold.domain.entities;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.List;
 
 /**
  * JPA entity migrated from legacy aluno.ArquivoRecadastramentoEstado.
  *
  * Mapping decisions:
  * - Kept original field types as String to preserve legacy behaviour and avoid surprising
- *   conversions. If a stricter type (e.g. LocalDate for dataMovimentacao) is desired later,
- *   a migration and mapping strategy should be introduced.
+ *   conversions, except dataMovimentacao, which is a DATE (LocalDate) so movement dates can be
+ *   range-queried through an index. Legacy text dates are converted by parseDataMovimentacao.
  * - Chose 'codigo' as the primary key (@Id). The legacy class did not declare a distinct id;
  *   'codigo' appears to be a natural identifier in the legacy model. If the domain requires
  *   a surrogate numeric id, replace/add a @GeneratedValue field and adapt repositories/services.
@@ -23,15 +33,46 @@ import java.io.Serializable;
  *
  * TODO: (REVIEW) Consider:
  *  - Introducing a surrogate generated id (Integer) if 'codigo' is not unique or mutable.
- *  - Converting dataMovimentacao to a date/time type and normalizing persisted values.
  *  - Adding a CNPJ-specific pattern validator if CNPJ format should be enforced.
+ *
+ * - cnpjNumerico holds the digits of cnpj as a number (see normalizeCnpj) and is kept in sync by
+ *   setCnpj. It is indexed and used by findByCnpj, so lookups ignore punctuation and compare one
+ *   BIGINT instead of a VARCHAR(20).
+ * - Secondary indexes cover every filtered finder (see RepositoryQueryPlanTests): (ano_base, bairro)
+ *   serves findByAnoBase through its leading column, bairro serves findByBairro. The text cnpj column
+ *   is not indexed because lookups go through cnpj_numerico. (data_movimentacao, codigo) serves the
+ *   date-range reads, returning a single day already ordered by codigo.
+ *
+ * - Rows stored before cnpj_numerico existed are backfilled once at startup (see SchemaMigrations).
+ * - ddl-auto=update does not change the type of an existing column: a data_movimentacao VARCHAR(50)
+ *   left by an earlier version is converted to DATE through parseDataMovimentacao at startup, and
+ *   values it rejects are kept in recadastramento_data_quarentena (see SchemaMigrations).
  */
 @Entity
-@Table(name = "arquivo_recadastramento_estado")
+@Table(name = "arquivo_recadastramento_estado",
+        indexes = {
+                @Index(name = "idx_recadastramento_cnpj_numerico", columnList = "cnpj_numerico"),
+                @Index(name = "idx_recadastramento_ano_base_bairro", columnList = "ano_base, bairro"),
+                @Index(name = "idx_recadastramento_bairro", columnList = "bairro"),
+                @Index(name = "idx_recadastramento_data_movimentacao", columnList = "data_movimentacao, codigo")
+        })
 public class ArquivoRecadastramentoEstado implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Tried in order; separators are normalized to '/' first. yyyyMMdd comes before ddMMyyyy so an
+    // 8-digit value is read year first when that is a valid date.
+    private static final List<DateTimeFormatter> DATA_MOVIMENTACAO_FORMATS = List.of(
+            strict("d/M/uuuu"),
+            strict("uuuu/M/d"),
+            strict("uuuuMMdd"),
+            strict("ddMMuuuu"),
+            new DateTimeFormatterBuilder()
+                    .appendPattern("d/M/")
+                    .appendValueReduced(ChronoField.YEAR, 2, 2, 1950)
+                    .toFormatter()
+                    .withResolverStyle(ResolverStyle.STRICT));
+
     // Natural identifier chosen from legacy model. Marked as not blank to avoid persisting
     // empty keys. If this is not suitable, migrate to a generated surrogate id.
     @Id
@@ -44,14 +85,14 @@ public class ArquivoRecadastramentoEstado implements Serializable {
     @Size(max = 50)
     private String codigoSec;
 
-    // Kept as String to preserve legacy values/formats. Consider switching to LocalDate with
-    // proper parsing/formatting if a date semantics is required.
-    @Column(name = "data_movimentacao", length = 50)
-    @Size(max = 50)
-    private String dataMovimentacao;
+    // Null when the legacy record had no date (blank field).
+    @Column(name = "data_movimentacao")
+    private LocalDate dataMovimentacao;
 
-    @Column(name = "ano_base", length = 10)
-    @Size(max = 10)
+    // Base year, stored as SMALLINT (see AnoConverter). Blank or a 4-digit year.
+    @Convert(converter = AnoConverter.class)
+    @Column(name = "ano_base")
+    @Pattern(regexp = AnoConverter.REGEXP)
     private String anoBase;
 
     @Column(name = "nome", length = 255)
@@ -64,6 +105,10 @@ public class ArquivoRecadastramentoEstado implements Serializable {
     @Size(max = 20)
     private String cnpj;
 
+    // Digits of cnpj as a number; null unless cnpj has exactly 14 digits. Derived, see setCnpj.
+    @Column(name = "cnpj_numerico")
+    private Long cnpjNumerico;
+
     @Column(name = "bairro", length = 100)
     @Size(max = 100)
     private String bairro;
@@ -77,7 +122,6 @@ public class ArquivoRecadastramentoEstado implements Serializable {
     public ArquivoRecadastramentoEstado() {
         this.codigo = "";
         this.codigoSec = "";
-        this.dataMovimentacao = "";
         this.anoBase = "";
         this.nome = "";
         this.cnpj = "";
@@ -102,20 +146,69 @@ public class ArquivoRecadastramentoEstado implements Serializable {
         this.codigoSec = codigoSec;
     }
 
-    public String getDataMovimentacao() {
+    public LocalDate getDataMovimentacao() {
         return dataMovimentacao;
     }
 
-    public void setDataMovimentacao(String dataMovimentacao) {
+    public void setDataMovimentacao(LocalDate dataMovimentacao) {
         this.dataMovimentacao = dataMovimentacao;
     }
 
+    /**
+     * Parse a movement date in any of the legacy text formats.
+     *
+     * Accepted: day first (dd/MM/yyyy, d/M/yyyy, dd-MM-yyyy, dd.MM.yyyy, dd/MM/yy, ddMMyyyy), year
+     * first (yyyy-MM-dd, yyyy/MM/dd, yyyyMMdd), and any of these followed by a time (" HH:mm..." or
+     * "THH:mm..."), which is ignored. Two-digit years are read as 1950..2049. Dates are checked
+     * strictly (31/02/2024 is rejected).
+     *
+     * @param text legacy value
+     * @return the date, or null when text is null or blank
+     * @throws IllegalArgumentException when text is not blank and matches no accepted format
+     */
+    public static LocalDate parseDataMovimentacao(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String value = text.trim();
+        int time = timeSeparator(value);
+        if (time > 0) {
+            value = value.substring(0, time);
+        }
+        String slashed = value.replace('-', '/').replace('.', '/');
+        for (DateTimeFormatter format : DATA_MOVIMENTACAO_FORMATS) {
+            try {
+                return LocalDate.parse(slashed, format);
+            } catch (DateTimeParseException ex) {
+                // Try the next format.
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized dataMovimentacao: " + text);
+    }
+
+    /**
+     * Position of the blank or 'T' that starts a time part after a date, or -1.
+     */
+    private static int timeSeparator(String value) {
+        for (int i = 6; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == 'T') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static DateTimeFormatter strict(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT);
+    }
+
     public String getAnoBase() {
         return anoBase;
     }
 
     public void setAnoBase(String anoBase) {
-        this.anoBase = anoBase;
+        this.anoBase = AnoConverter.normalize(anoBase);
     }
 
     public String getNome() {
@@ -132,6 +225,39 @@ public class ArquivoRecadastramentoEstado implements Serializable {
 
     public void setCnpj(String cnpj) {
         this.cnpj = cnpj;
+        this.cnpjNumerico = normalizeCnpj(cnpj);
+    }
+
+    public Long getCnpjNumerico() {
+        return cnpjNumerico;
+    }
+
+    /**
+     * Numeric key of a CNPJ in any formatting ("12.345.678/0001-90", "12345678000190", ...).
+     *
+     * Every non-digit is dropped and exactly 14 digits must remain; leading zeros are not
+     * significant once the length is right ("00.000.000/0001-91" is 191). Shorter or longer digit
+     * strings are not CNPJs and have no key, so they never match a stored one.
+     *
+     * @param cnpj CNPJ as typed or stored
+     * @return the 14-digit number, or null unless cnpj has exactly 14 digits
+     */
+    public static Long normalizeCnpj(String cnpj) {
+        if (cnpj == null) {
+            return null;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 14) {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+        }
+        return digits == 14 ? value : null;
     }
 
     public String getBairro() {
@@ -150,7 +276,7 @@ public class ArquivoRecadastramentoEstado implements Serializable {
         return "ArquivoRecadastramentoEstado{" +
                 "codigo='" + codigo + '\'' +
                 ", codigoSec='" + codigoSec + '\'' +
-                ", dataMovimentacao='" + dataMovimentacao + '\'' +
+                ", dataMovimentacao=" + dataMovimentacao +
                 ", anoBase='" + anoBase + '\'' +
                 ", nome='" + nome + '\'' +
                 ", cnpj='" + cnpj + '\'' +
@@ -0,0 +1,172 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Materialized totals of the Arquivo counters per (anovigencia, codigoescola).
+ *
+ * Design notes:
+ * - ArquivoService keeps the rows current by adding deltas in the same transaction as every Arquivo
+ *   create, update and delete, so dashboard reads do not scan the arquivo table.
+ * - Rows are written through JDBC (see ArquivoResumoJdbcRepositoryImpl); the entity mapping is
+ *   used for reads and to let Hibernate create the table.
+ * - A null anovigencia or codigoescola on Arquivo is stored as an empty string, because key columns
+ *   cannot be null. For the same reason ano_vigencia stays text here although arquivo stores it as
+ *   SMALLINT; the table holds one row per group, so its size does not matter.
+ * - Counters are BIGINT: sums over many years of files may exceed the Integer range.
+ */
+@Entity
+@Table(name = "arquivo_resumo")
+@IdClass(ArquivoResumo.Chave.class)
+public class ArquivoResumo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "ano_vigencia", length = 10, nullable = false)
+    private String anovigencia = "";
+
+    @Id
+    @Column(name = "codigo_escola", length = 50, nullable = false)
+    private String codigoescola = "";
+
+    // Number of Arquivo rows in the group.
+    @Column(name = "arquivos", nullable = false)
+    private Long arquivos = 0L;
+
+    @Column(name = "quantidade_registro", nullable = false)
+    private Long quantidaderegistro = 0L;
+
+    @Column(name = "aptos", nullable = false)
+    private Long aptos = 0L;
+
+    @Column(name = "sem_documento", nullable = false)
+    private Long semdocumento = 0L;
+
+    @Column(name = "com_codigo_setps", nullable = false)
+    private Long comcodigosetps = 0L;
+
+    @Column(name = "com_erro", nullable = false)
+    private Long comerro = 0L;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ArquivoResumo() {
+    }
+
+    // Getters and setters
+
+    public String getAnovigencia() {
+        return anovigencia;
+    }
+
+    public void setAnovigencia(String anovigencia) {
+        this.anovigencia = anovigencia;
+    }
+
+    public String getCodigoescola() {
+        return codigoescola;
+    }
+
+    public void setCodigoescola(String codigoescola) {
+        this.codigoescola = codigoescola;
+    }
+
+    public Long getArquivos() {
+        return arquivos;
+    }
+
+    public void setArquivos(Long arquivos) {
+        this.arquivos = arquivos;
+    }
+
+    public Long getQuantidaderegistro() {
+        return quantidaderegistro;
+    }
+
+    public void setQuantidaderegistro(Long quantidaderegistro) {
+        this.quantidaderegistro = quantidaderegistro;
+    }
+
+    public Long getAptos() {
+        return aptos;
+    }
+
+    public void setAptos(Long aptos) {
+        this.aptos = aptos;
+    }
+
+    public Long getSemdocumento() {
+        return semdocumento;
+    }
+
+    public void setSemdocumento(Long semdocumento) {
+        this.semdocumento = semdocumento;
+    }
+
+    public Long getComcodigosetps() {
+        return comcodigosetps;
+    }
+
+    public void setComcodigosetps(Long comcodigosetps) {
+        this.comcodigosetps = comcodigosetps;
+    }
+
+    public Long getComerro() {
+        return comerro;
+    }
+
+    public void setComerro(Long comerro) {
+        this.comerro = comerro;
+    }
+
+    /**
+     * Composite primary key (anovigencia, codigoescola).
+     */
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String anovigencia;
+        private String codigoescola;
+
+        public Chave() {
+        }
+
+        public Chave(String anovigencia, String codigoescola) {
+            this.anovigencia = anovigencia;
+            this.codigoescola = codigoescola;
+        }
+
+        public String getAnovigencia() {
+            return anovigencia;
+        }
+
+        public String getCodigoescola() {
+            return codigoescola;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Chave other)) {
+                return false;
+            }
+            return Objects.equals(anovigencia, other.anovigencia) && Objects.equals(codigoescola, other.codigoescola);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(anovigencia, codigoescola);
+        }
+    }
+}
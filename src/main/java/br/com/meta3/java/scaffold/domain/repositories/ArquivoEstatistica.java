@@ -0,0 +1,41 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+/**
+ * Sums of the Arquivo counters over one group, computed by the database (GROUP BY).
+ *
+ * codigoescola and anovigencia identify the group; a dimension that was not grouped on is null
+ * (both are null for the overall total). Sums over no rows are 0.
+ *
+ * The same shape is used for the deltas applied to the arquivo_resumo summary table, where
+ * arquivos is +1/-1 per created/deleted Arquivo and the counters may be negative.
+ */
+public record ArquivoEstatistica(String codigoescola,
+                                 String anovigencia,
+                                 Long arquivos,
+                                 Long quantidaderegistro,
+                                 Long aptos,
+                                 Long semdocumento,
+                                 Long comcodigosetps,
+                                 Long comerro) {
+
+    /**
+     * Add the counters of another row of the same group.
+     */
+    public ArquivoEstatistica plus(ArquivoEstatistica other) {
+        return new ArquivoEstatistica(codigoescola, anovigencia,
+                arquivos + other.arquivos,
+                quantidaderegistro + other.quantidaderegistro,
+                aptos + other.aptos,
+                semdocumento + other.semdocumento,
+                comcodigosetps + other.comcodigosetps,
+                comerro + other.comerro);
+    }
+
+    /**
+     * True when every counter is 0 (applying this row as a delta would change nothing).
+     */
+    public boolean isZero() {
+        return arquivos == 0 && quantidaderegistro == 0 && aptos == 0 && semdocumento == 0
+                && comcodigosetps == 0 && comerro == 0;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain repository abstraction for import job checkpoints (ArquivoImportacao).
+ *
+ * Design notes:
+ * - Like the other domain repositories, no Spring Data types are exposed; the infrastructure layer
+ *   provides the implementation (ArquivoImportacaoJpaRepository).
+ */
+public interface ArquivoImportacaoRepository {
+
+    /**
+     * Persist a new checkpoint or update an existing one.
+     *
+     * @param importacao checkpoint to save
+     * @return persisted checkpoint (with id populated for new rows)
+     */
+    ArquivoImportacao save(ArquivoImportacao importacao);
+
+    /**
+     * Find a checkpoint by its primary key.
+     *
+     * @param codigo primary key
+     * @return optional with checkpoint if found
+     */
+    Optional<ArquivoImportacao> findById(Long codigo);
+
+    /**
+     * Return every partition checkpoint of the import job that fills the given Arquivo, ordered by
+     * partition.
+     *
+     * @param codigoarquivo Arquivo primary key
+     * @return checkpoints of the job (empty when there is no such job)
+     */
+    List<ArquivoImportacao> findByCodigoarquivo(Integer codigoarquivo);
+}
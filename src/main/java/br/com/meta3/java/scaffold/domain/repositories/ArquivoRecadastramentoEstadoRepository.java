@@ -1,8 +1,11 @@
 package br.com.meta3.java.scaffold.domain.repositories;
 
 import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Domain repository abstraction for ArquivoRecadastramentoEstado CRUD operations and queries.
@@ -22,7 +25,8 @@ import java.util.Optional;
  *   will implement exact matches unless otherwise annotated with @Query or configured.
  *
  * TODO: (REVIEW)
- * - If paging/sorting becomes necessary, add abstracted paging DTOs to avoid leaking framework types.
+ * - Paging uses the framework-free KeysetPageRequest/KeysetPage types (keyset on codigo); add
+ *   sorting options the same way if they become necessary.
  * - Decide and document whether query methods should be case-sensitive and whether they should perform
  *   exact or like/wildcard matching. Consider adding explicit method names (e.g., findByBairroContaining)
  *   or query parameter objects for richer semantics.
@@ -52,6 +56,29 @@ public interface ArquivoRecadastramentoEstadoRepository {
      */
     List<ArquivoRecadastramentoEstado> findAll();
 
+    /**
+     * Read-only projection of one record (no managed entity is created).
+     *
+     * @param codigo primary key
+     * @return optional with the view if found
+     */
+    Optional<ArquivoRecadastramentoEstadoView> findViewById(String codigo);
+
+    /**
+     * Read-only projection of all records ordered by codigo (no managed entities are created).
+     *
+     * @return list of views
+     */
+    List<ArquivoRecadastramentoEstadoView> findAllViews();
+
+    /**
+     * Return one page of records ordered by codigo (keyset pagination), as read-only views.
+     *
+     * @param request key of the last row already seen and page size
+     * @return rows with codigo greater than request.after(), and the key of the next page
+     */
+    KeysetPage<ArquivoRecadastramentoEstadoView, String> findPage(KeysetPageRequest<String> request);
+
     /**
      * Delete an ArquivoRecadastramentoEstado by its primary key.
      *
@@ -80,10 +107,11 @@ public interface ArquivoRecadastramentoEstadoRepository {
     /**
      * Find all records matching the given CNPJ.
      *
-     * Note: CNPJ formatting may vary in legacy data. The infrastructure implementation may choose
-     * to normalize values or perform exact matching depending on requirements.
+     * Formatting is ignored on both sides: the match is on the numeric key
+     * (ArquivoRecadastramentoEstado.normalizeCnpj), so "12.345.678/0001-90" finds "12345678000190".
+     * A value without exactly 14 digits is not a CNPJ and finds nothing.
      *
-     * @param cnpj company identifier string
+     * @param cnpj company identifier string in any formatting
      * @return list of matching entities
      */
     List<ArquivoRecadastramentoEstado> findByCnpj(String cnpj);
@@ -99,6 +127,77 @@ public interface ArquivoRecadastramentoEstadoRepository {
      */
     List<ArquivoRecadastramentoEstado> findByBairro(String bairro);
 
+    /**
+     * Insert a batch of new records in a single round trip.
+     *
+     * Unlike save(), this method never checks for an existing row first: every entity is treated as
+     * new and the whole batch succeeds or fails together (e.g., when one codigo already exists).
+     * Intended for bulk import flows that already validated the rows.
+     *
+     * @param entities entities to insert
+     * @return number of inserted rows
+     */
+    int insertAll(List<ArquivoRecadastramentoEstado> entities);
+
+    /**
+     * Insert new records and overwrite existing ones (matched by codigo) in batched round trips.
+     *
+     * Like insertAll() no existence check is issued per row. When the same codigo appears more than
+     * once in the list, the last occurrence wins.
+     *
+     * @param entities entities to write
+     * @return number of written rows
+     */
+    int upsertAll(List<ArquivoRecadastramentoEstado> entities);
+
+    /**
+     * Return which of the given codigos are already stored.
+     *
+     * Used by bulk flows to isolate duplicates with a single query instead of one existsById per row.
+     *
+     * @param codigos candidate primary keys
+     * @return the subset of codigos that exist
+     */
+    List<String> findExistingCodigos(Collection<String> codigos);
+
+    /**
+     * Stream every record ordered by codigo without loading the whole table.
+     *
+     * The stream holds a database cursor: consume it inside a transaction and close it
+     * (try-with-resources).
+     *
+     * @return stream of read-only views of all records
+     */
+    Stream<ArquivoRecadastramentoEstadoView> streamAll();
+
+    /**
+     * Stream the records whose dataMovimentacao lies between two dates (both inclusive), ordered by
+     * date and then codigo. Records without a date are never returned.
+     *
+     * The range is read through the data_movimentacao index, so a daily report reads only that
+     * day's rows. Like streamAll, consume the stream inside a transaction and close it.
+     *
+     * @param inicio first date of the range
+     * @param fim last date of the range
+     * @return stream of read-only views
+     */
+    Stream<ArquivoRecadastramentoEstadoView> streamByDataMovimentacao(LocalDate inicio, LocalDate fim);
+
+    /**
+     * Return one page of the records whose dataMovimentacao lies between two dates (both
+     * inclusive), ordered by (dataMovimentacao, codigo) (keyset pagination, like findPage).
+     *
+     * Every page is an index range read of (data_movimentacao, codigo) starting at the cursor, for
+     * ranges of any length.
+     *
+     * @param inicio first date of the range
+     * @param fim last date of the range
+     * @param request position of the last row already seen and page size
+     * @return rows after request.after() in (dataMovimentacao, codigo) order, and the key of the next page
+     */
+    KeysetPage<ArquivoRecadastramentoEstadoView, DataMovimentacaoKey> findPageByDataMovimentacao(
+            LocalDate inicio, LocalDate fim, KeysetPageRequest<DataMovimentacaoKey> request);
+
     /**
      * Returns a count of all ArquivoRecadastramentoEstado records.
      *
@@ -0,0 +1,30 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import java.time.LocalDate;
+
+/**
+ * Immutable read model of an ArquivoRecadastramentoEstado, projected directly by read-only
+ * repository queries.
+ *
+ * See ArquivoView: no managed entity or DTO copy is created, and the component names match
+ * ArquivoRecadastramentoEstadoDto, so both serialize to the same JSON (dataMovimentacao is an ISO
+ * date in both; a missing date is null here and "" in the DTO).
+ */
+public record ArquivoRecadastramentoEstadoView(String codigo,
+                                               String codigoSec,
+                                               LocalDate dataMovimentacao,
+                                               String anoBase,
+                                               String nome,
+                                               String cnpj,
+                                               String bairro) {
+
+    /**
+     * View of an entity that was just written (no query).
+     */
+    public static ArquivoRecadastramentoEstadoView of(ArquivoRecadastramentoEstado entity) {
+        return new ArquivoRecadastramentoEstadoView(entity.getCodigo(), entity.getCodigoSec(),
+                entity.getDataMovimentacao(), entity.getAnoBase(), entity.getNome(), entity.getCnpj(),
+                entity.getBairro());
+    }
+}
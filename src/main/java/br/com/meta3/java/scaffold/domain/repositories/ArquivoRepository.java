@@ -3,6 +3,7 @@ package br.com.meta3.java.scaffold.domain.repositories;
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Domain repository abstraction for Arquivo CRUD operations.
@@ -19,9 +20,8 @@ import java.util.Optional;
  * - Common query methods that make sense from the legacy model are provided (findByCodigoescola,
  *   findByAnovigencia). Additional queries should be added here as needed by business requirements.
  *
- * TODO: (REVIEW) If pagination or sorting becomes required in the application, consider adding
- * abstracted types for paging (or introduce small page/sort DTOs in the domain) instead of leaking
- * Spring Data types into the domain.
+ * - Paging uses the framework-free KeysetPageRequest/KeysetPage types (keyset on codigoarquivo)
+ *   instead of Spring Data's Pageable.
  */
 public interface ArquivoRepository {
 
@@ -33,6 +33,14 @@ public interface ArquivoRepository {
      */
     Arquivo save(Arquivo arquivo);
 
+    /**
+     * Persist many new Arquivo entities in as few round trips as the implementation allows.
+     *
+     * @param arquivos new entities (ids must be null)
+     * @return persisted entities with ids populated, in the same order
+     */
+    List<Arquivo> insertAll(List<Arquivo> arquivos);
+
     /**
      * Find an Arquivo by its primary key (codigoarquivo).
      *
@@ -48,6 +56,29 @@ public interface ArquivoRepository {
      */
     List<Arquivo> findAll();
 
+    /**
+     * Read-only projection of one Arquivo (no managed entity is created).
+     *
+     * @param codigoarquivo primary key
+     * @return optional with the view if found
+     */
+    Optional<ArquivoView> findViewById(Integer codigoarquivo);
+
+    /**
+     * Read-only projection of all Arquivo ordered by codigoarquivo (no managed entities are created).
+     *
+     * @return list of views
+     */
+    List<ArquivoView> findAllViews();
+
+    /**
+     * Return one page of Arquivo ordered by codigoarquivo (keyset pagination), as read-only views.
+     *
+     * @param request key of the last row already seen and page size
+     * @return rows with codigoarquivo greater than request.after(), and the key of the next page
+     */
+    KeysetPage<ArquivoView, Integer> findPage(KeysetPageRequest<Integer> request);
+
     /**
      * Delete an Arquivo by its primary key.
      *
@@ -81,6 +112,16 @@ public interface ArquivoRepository {
      */
     List<Arquivo> findByAnovigencia(String anovigencia);
 
+    /**
+     * Stream every Arquivo ordered by codigoarquivo without loading the whole table.
+     *
+     * The stream holds a database cursor: consume it inside a transaction and close it
+     * (try-with-resources).
+     *
+     * @return stream of read-only views of all Arquivo
+     */
+    Stream<ArquivoView> streamAll();
+
     /**
      * Returns a count of all Arquivo records.
      *
@@ -0,0 +1,61 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain repository abstraction for the arquivo_resumo summary table (Arquivo counters per
+ * anovigencia and codigoescola).
+ *
+ * Design notes:
+ * - Rows are never written directly: callers apply deltas (see ArquivoEstatistica) in the same
+ *   transaction as the Arquivo change they describe, or regenerate the table with rebuild.
+ * - Keys are the normalized values (null stored as an empty string).
+ */
+public interface ArquivoResumoRepository {
+
+    /**
+     * Add the given deltas to their (anovigencia, codigoescola) rows, creating missing rows.
+     *
+     * @param deltas one delta per group; groups must not repeat
+     */
+    void applyDeltas(Collection<ArquivoEstatistica> deltas);
+
+    /**
+     * Single-row lookup of one group.
+     *
+     * @param anovigencia year of validity (normalized key)
+     * @param codigoescola school code (normalized key)
+     * @return the totals of the group if it has any Arquivo
+     */
+    Optional<ArquivoEstatistica> findResumo(String anovigencia, String codigoescola);
+
+    /**
+     * Sum all groups.
+     *
+     * @return overall totals (codigoescola and anovigencia are null)
+     */
+    ArquivoEstatistica sumTotal();
+
+    /**
+     * Roll up the groups per school code, ordered by codigoescola.
+     *
+     * @return one row per codigoescola (anovigencia is null)
+     */
+    List<ArquivoEstatistica> sumByCodigoescola();
+
+    /**
+     * Roll up the groups per year of validity, ordered by anovigencia.
+     *
+     * @return one row per anovigencia (codigoescola is null)
+     */
+    List<ArquivoEstatistica> sumByAnovigencia();
+
+    /**
+     * Regenerate the whole table from the arquivo table.
+     *
+     * @return number of groups written
+     */
+    int rebuild();
+}
@@ -0,0 +1,19 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+/**
+ * Immutable read model of an Arquivo, projected directly by read-only repository queries.
+ *
+ * Projection queries build this record from the result set (JPQL constructor expression or a
+ * JDBC row mapper), so no managed entity, dirty-checking snapshot or DTO copy is created. The
+ * component names match ArquivoDto, so both serialize to the same JSON.
+ */
+public record ArquivoView(Integer codigoarquivo,
+                          String nomearquivo,
+                          Integer quantidaderegistro,
+                          Integer aptos,
+                          Integer semdocumento,
+                          Integer comcodigosetps,
+                          Integer comerro,
+                          String anovigencia,
+                          String codigoescola) {
+}
@@ -0,0 +1,22 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Keyset position in the (dataMovimentacao, codigo) order used by the date-range pages.
+ *
+ * Both columns are needed: codigo alone is only ordered within one day, so a cursor on codigo
+ * would force every page of a multi-day range to re-read and sort the whole range.
+ *
+ * @param dataMovimentacao date of the last row of the previous page
+ * @param codigo codigo of the last row of the previous page
+ */
+public record DataMovimentacaoKey(LocalDate dataMovimentacao, String codigo) {
+
+    /**
+     * Key of a row (for KeysetPage.of).
+     */
+    public static DataMovimentacaoKey of(ArquivoRecadastramentoEstadoView view) {
+        return new DataMovimentacaoKey(view.dataMovimentacao(), view.codigo());
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Framework-free result of a keyset paginated query.
+ *
+ * @param items rows of the page, ordered by key
+ * @param nextKey key to pass as KeysetPageRequest.after for the next page, or null on the last page
+ * @param <T> row type
+ * @param <K> primary key type
+ */
+public record KeysetPage<T, K>(List<T> items, K nextKey) {
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1: the extra row only signals that another page
+     * exists and is dropped, which avoids a separate count query.
+     *
+     * @param rows up to limit + 1 rows ordered by key
+     * @param limit requested page size
+     * @param key extracts the key of a row
+     */
+    public static <T, K> KeysetPage<T, K> of(List<T> rows, int limit, Function<T, K> key) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, key.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Convert the rows, keeping the next key.
+     */
+    public <R> KeysetPage<R, K> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextKey);
+    }
+}
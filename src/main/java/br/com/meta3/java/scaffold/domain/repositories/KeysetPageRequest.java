@@ -0,0 +1,23 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+/**
+ * Framework-free request for one page of a keyset (seek) paginated query.
+ *
+ * Rows are ordered by their primary key; a page contains up to limit rows whose key is strictly
+ * greater than after (or the first rows when after is null). Unlike OFFSET paging the database
+ * seeks straight to the key through the primary key index, so every page costs the same.
+ *
+ * @param after key of the last row of the previous page, or null for the first page
+ * @param limit maximum number of rows in the page (1..MAX_LIMIT)
+ * @param <K> primary key type
+ */
+public record KeysetPageRequest<K>(K after, int limit) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public KeysetPageRequest {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoImportacaoRepository;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA adapter for the domain ArquivoImportacaoRepository.
+ *
+ * Follows the same pattern as ArquivoJpaRepository: the interface extends both JpaRepository and the
+ * domain abstraction, and Spring provides the implementation at runtime.
+ */
+@Repository
+@Transactional(readOnly = true)
+public interface ArquivoImportacaoJpaRepository extends JpaRepository<ArquivoImportacao, Long>, ArquivoImportacaoRepository {
+
+    /**
+     * Checkpoints of one job ordered by partition so ranges are resumed in file order.
+     */
+    @Override
+    @Query("select i from ArquivoImportacao i where i.codigoarquivo = :codigoarquivo order by i.particao")
+    List<ArquivoImportacao> findByCodigoarquivo(@Param("codigoarquivo") Integer codigoarquivo);
+
+    // save and findById are provided by JpaRepository.
+}
@@ -0,0 +1,25 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import java.util.stream.Stream;
+
+/**
+ * Spring Data repository fragment for JDBC-level read operations on Arquivo.
+ *
+ * The fragment is mixed into ArquivoJpaRepository; Spring Data locates the implementation by the
+ * "Impl" postfix (ArquivoJdbcRepositoryImpl).
+ *
+ * Design notes:
+ * - Full-table reads bypass the JPA persistence context on purpose: a JPA stream keeps every
+ *   loaded entity (and its dirty-checking snapshot) in the session until the transaction ends,
+ *   so memory would grow with the table.
+ */
+public interface ArquivoJdbcRepository {
+
+    /**
+     * Stream every Arquivo ordered by codigoarquivo, fetching rows from the driver in chunks.
+     *
+     * @return open stream of read-only views; must be consumed inside a transaction and closed
+     */
+    Stream<ArquivoView> streamAll();
+}
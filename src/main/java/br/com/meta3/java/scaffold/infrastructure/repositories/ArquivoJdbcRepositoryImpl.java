@@ -0,0 +1,56 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * JDBC implementation of the ArquivoJdbcRepository fragment.
+ *
+ * Design notes:
+ * - Uses a dedicated JdbcTemplate with a fetch size so the driver returns the result set in
+ *   chunks; queryForStream maps each row lazily, so only the current chunk is held in memory.
+ * - The connection is the one bound to the surrounding transaction (JpaTransactionManager exposes
+ *   it), which keeps the cursor open while the caller consumes the stream.
+ * - Column names mirror the @Column mappings of Arquivo. Keep both in sync when the entity
+ *   mapping changes.
+ */
+public class ArquivoJdbcRepositoryImpl implements ArquivoJdbcRepository {
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT codigo_arquivo, nome_arquivo, quantidade_registro, aptos, sem_documento, com_codigo_setps, "
+                    + "com_erro, ano_vigencia, codigo_escola FROM arquivo ORDER BY codigo_arquivo";
+
+    private static final RowMapper<ArquivoView> ROW_MAPPER = ArquivoJdbcRepositoryImpl::mapRow;
+
+    private final JdbcTemplate streamingTemplate;
+
+    public ArquivoJdbcRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                     @Value("${export.jdbc.fetch-size:1000}") int fetchSize) {
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public Stream<ArquivoView> streamAll() {
+        return streamingTemplate.queryForStream(SELECT_ALL_SQL, ROW_MAPPER);
+    }
+
+    private static ArquivoView mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ArquivoView(
+                rs.getObject("codigo_arquivo", Integer.class),
+                rs.getString("nome_arquivo"),
+                rs.getObject("quantidade_registro", Integer.class),
+                rs.getObject("aptos", Integer.class),
+                rs.getObject("sem_documento", Integer.class),
+                rs.getObject("com_codigo_setps", Integer.class),
+                rs.getObject("com_erro", Integer.class),
+                AnoConverter.toAttribute(rs.getObject("ano_vigencia", Short.class)),
+                rs.getString("codigo_escola"));
+    }
+}
@@ -1,9 +1,17 @@
 package br.com.meta3.java.scaffold.infrastructure.repositories;
 
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoView;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPageRequest;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +27,10 @@ import org.springframework.transaction.annotation.Transactional;
  *   persistence implementation in the infrastructure layer.
  * - Method names (findByCodigoescola, findByAnovigencia) follow Spring Data naming conventions and
  *   are resolved automatically to queries based on entity mappings.
+ * - streamAll comes from the ArquivoJdbcRepository fragment (plain JDBC with a fetch size).
+ * - Read-only queries (findViewById, findAllViews, findPage) use a JPQL constructor expression so
+ *   Hibernate builds ArquivoView records straight from the result set: no managed entities,
+ *   no dirty-checking snapshots and no entity-to-DTO copy.
  *
  * TODO: (REVIEW) If the domain repository must remain free of Spring types in all modules, ensure
  * application/service layers depend only on the domain interface (ArquivoRepository) and that wiring
@@ -26,7 +38,22 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Repository
 @Transactional(readOnly = true)
-public interface ArquivoJpaRepository extends JpaRepository<Arquivo, Integer>, ArquivoRepository {
+public interface ArquivoJpaRepository extends JpaRepository<Arquivo, Integer>, ArquivoRepository, ArquivoJdbcRepository {
+
+    /**
+     * Select clause shared by the ArquivoView projections.
+     */
+    String VIEW_SELECT = "select new br.com.meta3.java.scaffold.domain.repositories.ArquivoView("
+            + "a.codigoarquivo, a.nomearquivo, a.quantidaderegistro, a.aptos, a.semdocumento, "
+            + "a.comcodigosetps, a.comerro, a.anovigencia, a.codigoescola) from Arquivo a ";
+
+    @Override
+    @Query(VIEW_SELECT + "where a.codigoarquivo = :codigoarquivo")
+    Optional<ArquivoView> findViewById(@Param("codigoarquivo") Integer codigoarquivo);
+
+    @Override
+    @Query(VIEW_SELECT + "order by a.codigoarquivo")
+    List<ArquivoView> findAllViews();
 
     /**
      * Find all Arquivo entities for a given school code.
@@ -43,10 +70,54 @@ public interface ArquivoJpaRepository extends JpaRepository<Arquivo, Integer>, A
     /**
      * Find all Arquivo entities for a given year of validity.
      *
-     * Delegated to Spring Data query derivation.
+     * ano_vigencia is a SMALLINT (AnoConverter): a blank argument finds the Arquivo without a year,
+     * a value that is not a year matches nothing (instead of failing in the converter).
+     */
+    @Override
+    default List<Arquivo> findByAnovigencia(String anovigencia) {
+        if (anovigencia == null || anovigencia.isBlank()) {
+            return findByAnovigenciaIsNull();
+        }
+        return AnoConverter.isYear(anovigencia) ? findByAnovigenciaIs(anovigencia.trim()) : List.of();
+    }
+
+    List<Arquivo> findByAnovigenciaIs(String anovigencia);
+
+    List<Arquivo> findByAnovigenciaIsNull();
+
+    /**
+     * Keyset pagination: seek past the last key of the previous page through the primary key index.
+     *
+     * One extra row is fetched to know whether another page exists (no count query).
+     */
+    @Override
+    default KeysetPage<ArquivoView, Integer> findPage(KeysetPageRequest<Integer> request) {
+        Limit limit = Limit.of(request.limit() + 1);
+        List<ArquivoView> rows = request.after() == null
+                ? findFirstPage(limit)
+                : findPageAfter(request.after(), limit);
+        return KeysetPage.of(rows, request.limit(), ArquivoView::codigoarquivo);
+    }
+
+    // Two queries instead of "(:after is null or codigoarquivo > :after)", which can keep the
+    // database from using the index range scan.
+    @Query(VIEW_SELECT + "order by a.codigoarquivo")
+    List<ArquivoView> findFirstPage(Limit limit);
+
+    @Query(VIEW_SELECT + "where a.codigoarquivo > :after order by a.codigoarquivo")
+    List<ArquivoView> findPageAfter(@Param("after") Integer after, Limit limit);
+
+    /**
+     * Persist new entities through JpaRepository.saveAll.
+     *
+     * With the pooled arquivo_seq generator ids are assigned in memory and the inserts are flushed
+     * in JDBC batches of hibernate.jdbc.batch_size (see application.properties).
      */
     @Override
-    List<Arquivo> findByAnovigencia(String anovigencia);
+    @Transactional
+    default List<Arquivo> insertAll(List<Arquivo> arquivos) {
+        return saveAll(arquivos);
+    }
 
     // The remaining CRUD methods (save, findById, findAll, deleteById, existsById, count)
     // are provided by JpaRepository. They satisfy the signatures declared in the domain repository.
@@ -0,0 +1,52 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Spring Data repository fragment for JDBC-level bulk operations on ArquivoRecadastramentoEstado.
+ *
+ * The fragment is mixed into ArquivoRecadastramentoEstadoJpaRepository; Spring Data locates the
+ * implementation by the "Impl" postfix (ArquivoRecadastramentoEstadoJdbcRepositoryImpl).
+ *
+ * Design notes:
+ * - Bulk paths bypass the JPA persistence context on purpose: with an assigned String @Id every
+ *   JPA save() turns into a merge (select + insert), which is the main cost when importing files.
+ * - Full-table reads bypass it too: a JPA stream keeps every loaded entity in the session until
+ *   the transaction ends, so memory would grow with the table.
+ */
+public interface ArquivoRecadastramentoEstadoJdbcRepository {
+
+    /**
+     * Insert all entities using JDBC batching.
+     *
+     * @param entities entities to insert
+     * @return number of inserted rows
+     */
+    int insertAll(List<ArquivoRecadastramentoEstado> entities);
+
+    /**
+     * Insert or update all entities by codigo using JDBC batching (H2 MERGE ... KEY).
+     *
+     * @param entities entities to write
+     * @return number of written rows
+     */
+    int upsertAll(List<ArquivoRecadastramentoEstado> entities);
+
+    /**
+     * Stream every record ordered by codigo, fetching rows from the driver in chunks.
+     *
+     * @return open stream of read-only views; must be consumed inside a transaction and closed
+     */
+    Stream<ArquivoRecadastramentoEstadoView> streamAll();
+
+    /**
+     * Stream the records moved between two dates (inclusive), ordered by date and codigo.
+     *
+     * @return open stream of read-only views; must be consumed inside a transaction and closed
+     */
+    Stream<ArquivoRecadastramentoEstadoView> streamByDataMovimentacao(LocalDate inicio, LocalDate fim);
+}
@@ -0,0 +1,128 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC implementation of the ArquivoRecadastramentoEstadoJdbcRepository fragment.
+ *
+ * Design notes:
+ * - Uses JdbcTemplate.batchUpdate so rows travel as JDBC batches of at most batchSize statements.
+ *   When called inside a JPA transaction the JpaTransactionManager exposes the same connection, so
+ *   the statements join that transaction; otherwise each call runs in its own transaction (see
+ *   @Transactional).
+ * - streamAll and streamByDataMovimentacao use a second JdbcTemplate with a fetch size so the driver returns the result set in
+ *   chunks; queryForStream maps each row lazily and the cursor lives on the transaction's connection.
+ * - Upserts use H2's MERGE INTO ... KEY(codigo): one statement per row whether it exists or not,
+ *   instead of the existsById + merge select + insert/update issued through JPA.
+ * - Column names mirror the @Column mappings of ArquivoRecadastramentoEstado. Keep both in sync
+ *   when the entity mapping changes; ano_base goes through AnoConverter like the JPA mapping.
+ *
+ * TODO: (REVIEW) MERGE ... KEY is H2 syntax. When moving to another database replace UPSERT_SQL with
+ * its equivalent (e.g., INSERT ... ON CONFLICT (codigo) DO UPDATE on PostgreSQL).
+ */
+public class ArquivoRecadastramentoEstadoJdbcRepositoryImpl implements ArquivoRecadastramentoEstadoJdbcRepository {
+
+    private static final String COLUMNS = "(codigo, codigo_sec, data_movimentacao, ano_base, nome, cnpj, bairro, cnpj_numerico)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO arquivo_recadastramento_estado " + COLUMNS + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_SQL =
+            "MERGE INTO arquivo_recadastramento_estado " + COLUMNS + " KEY (codigo) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_VIEW_SQL =
+            "SELECT codigo, codigo_sec, data_movimentacao, ano_base, nome, cnpj, bairro FROM arquivo_recadastramento_estado ";
+
+    private static final String SELECT_ALL_SQL = SELECT_VIEW_SQL + "ORDER BY codigo";
+
+    // Same order as idx_recadastramento_data_movimentacao, so the rows come off the index unsorted.
+    private static final String SELECT_BY_DATA_MOVIMENTACAO_SQL = SELECT_VIEW_SQL
+            + "WHERE data_movimentacao BETWEEN ? AND ? ORDER BY data_movimentacao, codigo";
+
+    private static final ParameterizedPreparedStatementSetter<ArquivoRecadastramentoEstado> ROW_SETTER =
+            ArquivoRecadastramentoEstadoJdbcRepositoryImpl::setValues;
+
+    private static final RowMapper<ArquivoRecadastramentoEstadoView> ROW_MAPPER =
+            ArquivoRecadastramentoEstadoJdbcRepositoryImpl::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final int batchSize;
+
+    public ArquivoRecadastramentoEstadoJdbcRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                                          @Value("${recadastramento.jdbc.batch-size:500}") int batchSize,
+                                                          @Value("${export.jdbc.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(List<ArquivoRecadastramentoEstado> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, batchSize, ROW_SETTER);
+        // TODO: (REVIEW) Drivers may report Statement.SUCCESS_NO_INFO per row; since a failed row aborts
+        // the whole batch, reaching this point means every entity was inserted.
+        return entities.size();
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<ArquivoRecadastramentoEstado> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entities, batchSize, ROW_SETTER);
+        return entities.size();
+    }
+
+    @Override
+    public Stream<ArquivoRecadastramentoEstadoView> streamAll() {
+        return streamingTemplate.queryForStream(SELECT_ALL_SQL, ROW_MAPPER);
+    }
+
+    @Override
+    public Stream<ArquivoRecadastramentoEstadoView> streamByDataMovimentacao(LocalDate inicio, LocalDate fim) {
+        return streamingTemplate.queryForStream(SELECT_BY_DATA_MOVIMENTACAO_SQL, ROW_MAPPER, inicio, fim);
+    }
+
+    private static ArquivoRecadastramentoEstadoView mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ArquivoRecadastramentoEstadoView(
+                rs.getString("codigo"),
+                rs.getString("codigo_sec"),
+                rs.getObject("data_movimentacao", LocalDate.class),
+                AnoConverter.toAttribute(rs.getObject("ano_base", Short.class)),
+                rs.getString("nome"),
+                rs.getString("cnpj"),
+                rs.getString("bairro"));
+    }
+
+    private static void setValues(PreparedStatement ps, ArquivoRecadastramentoEstado entity) throws SQLException {
+        ps.setString(1, entity.getCodigo());
+        ps.setString(2, entity.getCodigoSec());
+        ps.setObject(3, entity.getDataMovimentacao(), Types.DATE);
+        ps.setObject(4, AnoConverter.toColumn(entity.getAnoBase()), Types.SMALLINT);
+        ps.setString(5, entity.getNome());
+        ps.setString(6, entity.getCnpj());
+        ps.setString(7, entity.getBairro());
+        ps.setObject(8, entity.getCnpjNumerico(), Types.BIGINT);
+    }
+}
@@ -1,9 +1,20 @@
 package br.com.meta3.java.scaffold.infrastructure.repositories;
 
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
 import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView;
+import br.com.meta3.java.scaffold.domain.repositories.DataMovimentacaoKey;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPage;
+import br.com.meta3.java.scaffold.domain.repositories.KeysetPageRequest;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,39 +28,71 @@ import org.springframework.transaction.annotation.Transactional;
  * - We preserve the domain repository method signatures by implementing the domain interface.
  * - Query derivation methods for anoBase, cnpj and bairro are declared so Spring Data will
  *   generate appropriate queries automatically.
+ * - Bulk operations (insertAll, upsertAll, streamAll) come from the ArquivoRecadastramentoEstadoJdbcRepository fragment,
+ *   which is implemented with plain JDBC batching instead of the JPA persistence context.
+ * - Read-only queries (findViewById, findAllViews, findPage) use a JPQL constructor expression so
+ *   Hibernate builds ArquivoRecadastramentoEstadoView records straight from the result set.
+ * - CNPJ lookups use the indexed numeric cnpj_numerico column (see findByCnpj), so legacy values
+ *   with or without punctuation match.
  *
  * TODO: (REVIEW) Matching semantics:
  * - Currently these methods use exact matching (e.g., findByAnoBase) which maps to equality in SQL.
  * - If case-insensitive or partial (LIKE) matching is desired, consider replacing with:
  *     List<ArquivoRecadastramentoEstado> findByBairroContainingIgnoreCase(String bairro);
  *   or annotate with @Query for custom SQL.
- *
- * TODO: (REVIEW) CNPJ normalization:
- * - Legacy data may contain differently formatted CNPJ values (with punctuation).
- *   If normalization is required, either store normalized values or add a custom query that
- *   strips punctuation before comparing.
  */
 @Repository
 @Transactional(readOnly = true)
 public interface ArquivoRecadastramentoEstadoJpaRepository
-        extends JpaRepository<ArquivoRecadastramentoEstado, String>, ArquivoRecadastramentoEstadoRepository {
+        extends JpaRepository<ArquivoRecadastramentoEstado, String>, ArquivoRecadastramentoEstadoRepository,
+        ArquivoRecadastramentoEstadoJdbcRepository {
+
+    /**
+     * Select clause shared by the ArquivoRecadastramentoEstadoView projections.
+     */
+    String VIEW_SELECT = "select new br.com.meta3.java.scaffold.domain.repositories.ArquivoRecadastramentoEstadoView("
+            + "a.codigo, a.codigoSec, a.dataMovimentacao, a.anoBase, a.nome, a.cnpj, a.bairro) "
+            + "from ArquivoRecadastramentoEstado a ";
+
+    @Override
+    @Query(VIEW_SELECT + "where a.codigo = :codigo")
+    Optional<ArquivoRecadastramentoEstadoView> findViewById(@Param("codigo") String codigo);
+
+    @Override
+    @Query(VIEW_SELECT + "order by a.codigo")
+    List<ArquivoRecadastramentoEstadoView> findAllViews();
 
     /**
      * Find all records matching the given anoBase (year).
      *
-     * Note: This derived query performs exact matching. For partial or case-insensitive
-     * searches adapt the method name or provide a @Query implementation.
+     * ano_base is a SMALLINT (AnoConverter): a blank argument finds the records without a year, a
+     * value that is not a year matches nothing (instead of failing in the converter).
      */
     @Override
-    List<ArquivoRecadastramentoEstado> findByAnoBase(String anoBase);
+    default List<ArquivoRecadastramentoEstado> findByAnoBase(String anoBase) {
+        if (anoBase == null || anoBase.isBlank()) {
+            return findByAnoBaseIsNull();
+        }
+        return AnoConverter.isYear(anoBase) ? findByAnoBaseIs(anoBase.trim()) : List.of();
+    }
+
+    List<ArquivoRecadastramentoEstado> findByAnoBaseIs(String anoBase);
+
+    List<ArquivoRecadastramentoEstado> findByAnoBaseIsNull();
 
     /**
-     * Find all records matching the given CNPJ.
+     * Find all records matching the given CNPJ, in any formatting.
      *
-     * Note: CNPJ formatting may vary in legacy data. Consider normalizing values if needed.
+     * The argument is reduced to its numeric key and matched through the cnpj_numerico index; a
+     * value without exactly 14 digits matches nothing (no query is run).
      */
     @Override
-    List<ArquivoRecadastramentoEstado> findByCnpj(String cnpj);
+    default List<ArquivoRecadastramentoEstado> findByCnpj(String cnpj) {
+        Long cnpjNumerico = ArquivoRecadastramentoEstado.normalizeCnpj(cnpj);
+        return cnpjNumerico == null ? List.of() : findByCnpjNumerico(cnpjNumerico);
+    }
+
+    List<ArquivoRecadastramentoEstado> findByCnpjNumerico(Long cnpjNumerico);
 
     /**
      * Find all records matching the given bairro (neighbourhood).
@@ -59,6 +102,65 @@ public interface ArquivoRecadastramentoEstadoJpaRepository
     @Override
     List<ArquivoRecadastramentoEstado> findByBairro(String bairro);
 
+    /**
+     * Return which of the given codigos are already stored (single IN query on the primary key).
+     */
+    @Override
+    @Query("select a.codigo from ArquivoRecadastramentoEstado a where a.codigo in :codigos")
+    List<String> findExistingCodigos(@Param("codigos") Collection<String> codigos);
+
+    /**
+     * Keyset pagination: seek past the last codigo of the previous page through the primary key index.
+     *
+     * One extra row is fetched to know whether another page exists (no count query).
+     */
+    @Override
+    default KeysetPage<ArquivoRecadastramentoEstadoView, String> findPage(KeysetPageRequest<String> request) {
+        Limit limit = Limit.of(request.limit() + 1);
+        List<ArquivoRecadastramentoEstadoView> rows = request.after() == null
+                ? findFirstPage(limit)
+                : findPageAfter(request.after(), limit);
+        return KeysetPage.of(rows, request.limit(), ArquivoRecadastramentoEstadoView::codigo);
+    }
+
+    @Query(VIEW_SELECT + "order by a.codigo")
+    List<ArquivoRecadastramentoEstadoView> findFirstPage(Limit limit);
+
+    @Query(VIEW_SELECT + "where a.codigo > :after order by a.codigo")
+    List<ArquivoRecadastramentoEstadoView> findPageAfter(@Param("after") String after, Limit limit);
+
+    /**
+     * Keyset pagination within a date range, through the (data_movimentacao, codigo) index.
+     *
+     * The seek condition is split so the lower bound (dataMovimentacao >= cursor date) narrows the
+     * index range and the OR only filters rows of the cursor date already returned; the range bounds
+     * still apply, so a cursor from another range cannot read outside this one.
+     */
+    @Override
+    default KeysetPage<ArquivoRecadastramentoEstadoView, DataMovimentacaoKey> findPageByDataMovimentacao(
+            LocalDate inicio, LocalDate fim, KeysetPageRequest<DataMovimentacaoKey> request) {
+        Limit limit = Limit.of(request.limit() + 1);
+        DataMovimentacaoKey after = request.after();
+        List<ArquivoRecadastramentoEstadoView> rows = after == null
+                ? findFirstPageByDataMovimentacao(inicio, fim, limit)
+                : findPageByDataMovimentacaoAfter(inicio, fim, after.dataMovimentacao(), after.codigo(), limit);
+        return KeysetPage.of(rows, request.limit(), DataMovimentacaoKey::of);
+    }
+
+    @Query(VIEW_SELECT + "where a.dataMovimentacao between :inicio and :fim order by a.dataMovimentacao, a.codigo")
+    List<ArquivoRecadastramentoEstadoView> findFirstPageByDataMovimentacao(@Param("inicio") LocalDate inicio,
+                                                                           @Param("fim") LocalDate fim,
+                                                                           Limit limit);
+
+    @Query(VIEW_SELECT + "where a.dataMovimentacao between :inicio and :fim and a.dataMovimentacao >= :data "
+            + "and (a.dataMovimentacao > :data or a.codigo > :codigo) order by a.dataMovimentacao, a.codigo")
+    List<ArquivoRecadastramentoEstadoView> findPageByDataMovimentacaoAfter(@Param("inicio") LocalDate inicio,
+                                                                           @Param("fim") LocalDate fim,
+                                                                           @Param("data") LocalDate data,
+                                                                           @Param("codigo") String codigo,
+                                                                           Limit limit);
+
     // JpaRepository already provides implementations for save, findById, findAll, deleteById,
-    // existsById and count which satisfy the domain interface contract.
+    // existsById and count which satisfy the domain interface contract. insertAll, upsertAll and
+    // streamAll are provided by the JDBC fragment.
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import java.util.Collection;
+
+/**
+ * Spring Data repository fragment for the JDBC writes on arquivo_resumo.
+ *
+ * The method signatures match ArquivoResumoRepository so ArquivoResumoJpaRepository can expose
+ * them to the domain layer.
+ */
+public interface ArquivoResumoJdbcRepository {
+
+    /**
+     * Add each delta to its row (UPDATE, or INSERT for a new group), then delete the groups left
+     * without Arquivo.
+     *
+     * @param deltas one delta per group
+     */
+    void applyDeltas(Collection<ArquivoEstatistica> deltas);
+
+    /**
+     * Delete every row and insert the GROUP BY aggregation of the arquivo table, under SERIALIZABLE
+     * isolation.
+     *
+     * @return number of groups written
+     */
+    int rebuild();
+}
@@ -0,0 +1,151 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC implementation of the ArquivoResumoJdbcRepository fragment.
+ *
+ * Design notes:
+ * - Deltas are applied with UPDATE ... SET x = x + delta, so the addition happens in the database
+ *   under the row lock: concurrent transactions updating the same group never overwrite each
+ *   other's totals.
+ * - Only a group without a row (no UPDATE count) is INSERTed, under a savepoint. Two transactions
+ *   creating the same group both miss the row; the second INSERT fails on the primary key once the
+ *   first commits, so it is rolled back to the savepoint and the delta is applied with UPDATE again.
+ *   The enclosing Arquivo change is not rolled back for this, as it would be with a single
+ *   MERGE ... WHEN NOT MATCHED THEN INSERT.
+ * - Deltas are sent in key order so two transactions touching the same groups lock them in the
+ *   same order and cannot deadlock.
+ * - A group whose last Arquivo was deleted or moved away is removed after the deltas, so the
+ *   roll-ups never return all-zero groups and the table does not keep one dead row per past key.
+ *   Only keys with a negative arquivos delta can reach zero, so only those are checked.
+ * - rebuild runs under SERIALIZABLE isolation: an Arquivo change committed while it runs either is
+ *   part of its snapshot or touches a summary row the rebuild rewrites, so the conflict makes one of
+ *   the two transactions fail (ConcurrencyFailureException) instead of a delta being lost or counted
+ *   twice. The caller may retry.
+ * - Inside a JPA transaction the statements run on the transaction's connection (see
+ *   ArquivoRecadastramentoEstadoJdbcRepositoryImpl), so the summary commits or rolls back together
+ *   with the Arquivo change.
+ * - Column names mirror the @Column mappings of ArquivoResumo and Arquivo.
+ */
+public class ArquivoResumoJdbcRepositoryImpl implements ArquivoResumoJdbcRepository {
+
+    private static final String UPDATE_DELTA_SQL =
+            "UPDATE arquivo_resumo SET arquivos = arquivos + ?, quantidade_registro = quantidade_registro + ?, "
+                    + "aptos = aptos + ?, sem_documento = sem_documento + ?, com_codigo_setps = com_codigo_setps + ?, "
+                    + "com_erro = com_erro + ? WHERE ano_vigencia = ? AND codigo_escola = ?";
+
+    private static final String INSERT_DELTA_SQL =
+            "INSERT INTO arquivo_resumo (arquivos, quantidade_registro, aptos, sem_documento, com_codigo_setps, "
+                    + "com_erro, ano_vigencia, codigo_escola) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM arquivo_resumo WHERE ano_vigencia = ? AND codigo_escola = ? AND arquivos = 0";
+
+    private static final String DELETE_ALL_SQL = "DELETE FROM arquivo_resumo";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO arquivo_resumo (ano_vigencia, codigo_escola, arquivos, quantidade_registro, aptos, "
+                    + "sem_documento, com_codigo_setps, com_erro) "
+                    + "SELECT COALESCE(CAST(ano_vigencia AS VARCHAR(10)), ''), COALESCE(codigo_escola, ''), COUNT(*), "
+                    + "COALESCE(SUM(quantidade_registro), 0), COALESCE(SUM(aptos), 0), COALESCE(SUM(sem_documento), 0), "
+                    + "COALESCE(SUM(com_codigo_setps), 0), COALESCE(SUM(com_erro), 0) "
+                    + "FROM arquivo GROUP BY COALESCE(CAST(ano_vigencia AS VARCHAR(10)), ''), COALESCE(codigo_escola, '')";
+
+    private static final Comparator<ArquivoEstatistica> KEY_ORDER =
+            Comparator.comparing(ArquivoEstatistica::anovigencia).thenComparing(ArquivoEstatistica::codigoescola);
+
+    private static final ParameterizedPreparedStatementSetter<ArquivoEstatistica> KEY_SETTER =
+            ArquivoResumoJdbcRepositoryImpl::setKey;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArquivoResumoJdbcRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(Collection<ArquivoEstatistica> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<ArquivoEstatistica> ordered = new ArrayList<>(deltas);
+        ordered.sort(KEY_ORDER);
+        for (ArquivoEstatistica delta : ordered) {
+            if (update(delta) == 0) {
+                insertOrUpdate(delta);
+            }
+        }
+        List<ArquivoEstatistica> shrunk = ordered.stream().filter(delta -> delta.arquivos() < 0).toList();
+        if (!shrunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, shrunk, shrunk.size(), KEY_SETTER);
+        }
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public int rebuild() {
+        jdbcTemplate.update(DELETE_ALL_SQL);
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private int update(ArquivoEstatistica delta) {
+        return jdbcTemplate.update(UPDATE_DELTA_SQL, ps -> setValues(ps, delta));
+    }
+
+    /**
+     * Insert the row of a new group; if a concurrent transaction inserted it first, undo the failed
+     * INSERT (savepoint, the transaction stays usable) and add the delta to that row instead.
+     */
+    private void insertOrUpdate(ArquivoEstatistica delta) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.update(INSERT_DELTA_SQL, ps -> setValues(ps, delta));
+            } catch (DuplicateKeyException ex) {
+                connection.rollback(savepoint);
+                if (update(delta) == 0) {
+                    // The other row was deleted again (its group emptied) in the meantime.
+                    throw ex;
+                }
+                return null;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+    }
+
+    /**
+     * Bind the six counters followed by the key, the parameter order of both UPDATE_DELTA_SQL and
+     * INSERT_DELTA_SQL.
+     */
+    private static void setValues(PreparedStatement ps, ArquivoEstatistica delta) throws SQLException {
+        ps.setLong(1, delta.arquivos());
+        ps.setLong(2, delta.quantidaderegistro());
+        ps.setLong(3, delta.aptos());
+        ps.setLong(4, delta.semdocumento());
+        ps.setLong(5, delta.comcodigosetps());
+        ps.setLong(6, delta.comerro());
+        ps.setString(7, delta.anovigencia());
+        ps.setString(8, delta.codigoescola());
+    }
+
+    private static void setKey(PreparedStatement ps, ArquivoEstatistica delta) throws SQLException {
+        ps.setString(1, delta.anovigencia());
+        ps.setString(2, delta.codigoescola());
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoResumo;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoResumoRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA adapter for the domain ArquivoResumoRepository.
+ *
+ * Design notes:
+ * - Reads are JPQL constructor expressions over the summary rows; the roll-ups aggregate at most
+ *   one row per (anovigencia, codigoescola) instead of every Arquivo.
+ * - applyDeltas deletes a group once its last Arquivo is gone; reads also skip rows with
+ *   arquivos = 0.
+ * - Writes (applyDeltas, rebuild) come from the ArquivoResumoJdbcRepository fragment.
+ */
+@Repository
+@Transactional(readOnly = true)
+public interface ArquivoResumoJpaRepository
+        extends JpaRepository<ArquivoResumo, ArquivoResumo.Chave>, ArquivoResumoRepository, ArquivoResumoJdbcRepository {
+
+    /**
+     * Aggregates shared by the roll-up projections; coalesce keeps sums over no rows at 0.
+     */
+    String SUMS = "coalesce(sum(r.arquivos), 0L), coalesce(sum(r.quantidaderegistro), 0L), coalesce(sum(r.aptos), 0L), "
+            + "coalesce(sum(r.semdocumento), 0L), coalesce(sum(r.comcodigosetps), 0L), coalesce(sum(r.comerro), 0L)) "
+            + "from ArquivoResumo r where r.arquivos > 0 ";
+
+    @Override
+    @Query("select new br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica("
+            + "r.codigoescola, r.anovigencia, r.arquivos, r.quantidaderegistro, r.aptos, r.semdocumento, "
+            + "r.comcodigosetps, r.comerro) from ArquivoResumo r "
+            + "where r.anovigencia = :anovigencia and r.codigoescola = :codigoescola and r.arquivos > 0")
+    Optional<ArquivoEstatistica> findResumo(@Param("anovigencia") String anovigencia,
+                                            @Param("codigoescola") String codigoescola);
+
+    @Override
+    @Query("select new br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica("
+            + "cast(null as String), cast(null as String), " + SUMS)
+    ArquivoEstatistica sumTotal();
+
+    @Override
+    @Query("select new br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica("
+            + "r.codigoescola, cast(null as String), " + SUMS
+            + "group by r.codigoescola order by r.codigoescola")
+    List<ArquivoEstatistica> sumByCodigoescola();
+
+    @Override
+    @Query("select new br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica("
+            + "cast(null as String), r.anovigencia, " + SUMS
+            + "group by r.anovigencia order by r.anovigencia")
+    List<ArquivoEstatistica> sumByAnovigencia();
+}
@@ -0,0 +1,309 @@
+package br.com.meta3.java.scaffold.infrastructure.schema;
+
+import br.com.meta3.java.scaffold.domain.entities.AnoConverter;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRecadastramentoEstado;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoResumoRepository;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off migrations of existing data that ddl-auto=update cannot do (it only adds tables, columns
+ * and indexes), run once per database at startup.
+ *
+ * Design notes:
+ * - Runs in afterSingletonsInstantiated: after Hibernate has updated the schema (the
+ *   EntityManagerFactory is a singleton created before) and before the web server accepts requests.
+ * - Applied migrations are recorded by id in schema_migracao, so each one runs once; on a new
+ *   database they find nothing to change and are only recorded.
+ * - Steps go over the rows in chunks of CHUNK_SIZE by primary key, one transaction per chunk, and are
+ *   written so that a step interrupted by a crash can run again from the start: rows already
+ *   migrated are left as they are.
+ * - A failing step stops the startup (the exception propagates), rather than serving requests on a
+ *   half-migrated schema.
+ *
+ * TODO: (REVIEW) Nothing stops two instances starting at the same time against one shared database
+ * from running the same step; with the embedded H2 database there is only one instance.
+ */
+@Component
+public class SchemaMigrations implements SmartInitializingSingleton {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String RECADASTRAMENTO = "arquivo_recadastramento_estado";
+
+    // Column holding the converted dates until it replaces data_movimentacao.
+    private static final String DATA_MOVIMENTACAO_NOVA = "data_movimentacao_data";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArquivoResumoRepository resumoRepository;
+
+    // Id -> step, in the order they must run. Ids are never renamed or reused.
+    private final Map<String, Runnable> migrations = new LinkedHashMap<>();
+
+    public SchemaMigrations(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ArquivoResumoRepository resumoRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.resumoRepository = resumoRepository;
+        migrations.put("recadastramento-cnpj-numerico", this::backfillCnpjNumerico);
+        migrations.put("recadastramento-data-movimentacao-date", this::convertDataMovimentacao);
+        migrations.put("ano-smallint", this::convertAnos);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    /**
+     * Run every migration not yet recorded in schema_migracao, in order.
+     *
+     * @return ids of the migrations run by this call
+     */
+    public List<String> migrate() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migracao ("
+                + "id VARCHAR(100) PRIMARY KEY, aplicada_em TIMESTAMP NOT NULL)");
+        Set<String> applied = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM schema_migracao", String.class));
+        List<String> run = new ArrayList<>();
+        for (Map.Entry<String, Runnable> migration : migrations.entrySet()) {
+            if (applied.contains(migration.getKey())) {
+                continue;
+            }
+            migration.getValue().run();
+            jdbcTemplate.update("INSERT INTO schema_migracao (id, aplicada_em) VALUES (?, CURRENT_TIMESTAMP)",
+                    migration.getKey());
+            run.add(migration.getKey());
+        }
+        return run;
+    }
+
+    /**
+     * Recompute cnpj_numerico of every arquivo_recadastramento_estado row through
+     * ArquivoRecadastramentoEstado.normalizeCnpj: rows stored before the column existed have it null,
+     * and rows stored by the first version of the normalizer have a key for CNPJs of fewer than 14
+     * digits. The rule lives in Java, so it is not repeated in SQL.
+     */
+    void backfillCnpjNumerico() {
+        String after = "";
+        while (true) {
+            List<CnpjRow> rows = jdbcTemplate.query(
+                    "SELECT codigo, cnpj, cnpj_numerico FROM " + RECADASTRAMENTO + " WHERE codigo > ? ORDER BY codigo LIMIT ?",
+                    (rs, rowNum) -> new CnpjRow(rs.getString("codigo"), rs.getString("cnpj"),
+                            rs.getObject("cnpj_numerico", Long.class)),
+                    after, CHUNK_SIZE);
+            List<Object[]> changed = new ArrayList<>();
+            for (CnpjRow row : rows) {
+                Long cnpjNumerico = ArquivoRecadastramentoEstado.normalizeCnpj(row.cnpj());
+                if (!Objects.equals(cnpjNumerico, row.cnpjNumerico())) {
+                    changed.add(new Object[] {cnpjNumerico, row.codigo()});
+                }
+            }
+            if (!changed.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "UPDATE " + RECADASTRAMENTO + " SET cnpj_numerico = ? WHERE codigo = ?", changed));
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                return;
+            }
+            after = rows.get(rows.size() - 1).codigo();
+        }
+    }
+
+    /**
+     * Convert a legacy VARCHAR arquivo_recadastramento_estado.data_movimentacao to DATE.
+     *
+     * The text is parsed by ArquivoRecadastramentoEstado.parseDataMovimentacao into a new DATE
+     * column (the legacy formats vary too much for SQL); values it rejects are copied to
+     * recadastramento_data_quarentena and left null. The old column and its index are then dropped,
+     * the new column takes its name and the (data_movimentacao, codigo) index is recreated.
+     *
+     * If a previous run stopped after dropping the old column, Hibernate has added an empty DATE
+     * data_movimentacao in its place; the converted values are still in the new column and are
+     * copied over.
+     */
+    void convertDataMovimentacao() {
+        Integer type = columnType(RECADASTRAMENTO, "data_movimentacao");
+        boolean converted = columnType(RECADASTRAMENTO, DATA_MOVIMENTACAO_NOVA) != null;
+        if (type != null && isText(type)) {
+            fillDataMovimentacao();
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_recadastramento_data_movimentacao");
+            jdbcTemplate.execute("ALTER TABLE " + RECADASTRAMENTO + " DROP COLUMN data_movimentacao");
+            type = null;
+        } else if (!converted) {
+            // New database, or already migrated.
+            return;
+        }
+        if (type == null) {
+            jdbcTemplate.execute("ALTER TABLE " + RECADASTRAMENTO + " ALTER COLUMN " + DATA_MOVIMENTACAO_NOVA
+                    + " RENAME TO data_movimentacao");
+        } else {
+            jdbcTemplate.update("UPDATE " + RECADASTRAMENTO + " SET data_movimentacao = " + DATA_MOVIMENTACAO_NOVA
+                    + " WHERE data_movimentacao IS NULL");
+            jdbcTemplate.execute("ALTER TABLE " + RECADASTRAMENTO + " DROP COLUMN " + DATA_MOVIMENTACAO_NOVA);
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_recadastramento_data_movimentacao ON "
+                + RECADASTRAMENTO + " (data_movimentacao, codigo)");
+    }
+
+    private void fillDataMovimentacao() {
+        jdbcTemplate.execute("ALTER TABLE " + RECADASTRAMENTO + " ADD COLUMN IF NOT EXISTS "
+                + DATA_MOVIMENTACAO_NOVA + " DATE");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS recadastramento_data_quarentena ("
+                + "codigo VARCHAR(50) PRIMARY KEY, data_movimentacao VARCHAR(50) NOT NULL)");
+        scanText(RECADASTRAMENTO, "codigo", "data_movimentacao", "", rows -> {
+            List<Object[]> dates = new ArrayList<>();
+            List<Object[]> rejected = new ArrayList<>();
+            for (TextRow row : rows) {
+                try {
+                    LocalDate date = ArquivoRecadastramentoEstado.parseDataMovimentacao(row.value());
+                    if (date != null) {
+                        dates.add(new Object[] {date, row.key()});
+                    }
+                } catch (IllegalArgumentException ex) {
+                    rejected.add(new Object[] {row.key(), row.value()});
+                }
+            }
+            jdbcTemplate.batchUpdate("UPDATE " + RECADASTRAMENTO + " SET " + DATA_MOVIMENTACAO_NOVA
+                    + " = ? WHERE codigo = ?", dates);
+            jdbcTemplate.batchUpdate("MERGE INTO recadastramento_data_quarentena (codigo, data_movimentacao)"
+                    + " KEY (codigo) VALUES (?, ?)", rejected);
+        });
+    }
+
+    /**
+     * Convert the legacy VARCHAR year columns (arquivo.ano_vigencia and
+     * arquivo_recadastramento_estado.ano_base) to the SMALLINT that AnoConverter maps, then rebuild
+     * arquivo_resumo, whose keys were derived from the old text.
+     */
+    void convertAnos() {
+        boolean arquivo = convertAno("arquivo", "codigo_arquivo", Integer.MIN_VALUE, "ano_vigencia",
+                "arquivo_ano_quarentena");
+        convertAno(RECADASTRAMENTO, "codigo", "", "ano_base", "recadastramento_ano_quarentena");
+        if (arquivo) {
+            transactionTemplate.executeWithoutResult(status -> resumoRepository.rebuild());
+        }
+    }
+
+    /**
+     * Convert one year column if it is still text: blanks become NULL, values that are not years
+     * (AnoConverter.isYear) are copied to the quarantine table and become NULL, years are trimmed;
+     * then the column type is changed in place (its indexes are kept).
+     *
+     * @return whether the column was converted
+     */
+    private boolean convertAno(String table, String key, Object firstKey, String column, String quarentena) {
+        Integer type = columnType(table, column);
+        if (type == null || !isText(type)) {
+            return false;
+        }
+        String keyType = columnTypeName(table, key);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + quarentena + " (" + key + " " + keyType
+                + " PRIMARY KEY, " + column + " VARCHAR(255) NOT NULL)");
+        scanText(table, key, column, firstKey, rows -> {
+            List<Object[]> years = new ArrayList<>();
+            List<Object[]> cleared = new ArrayList<>();
+            List<Object[]> rejected = new ArrayList<>();
+            for (TextRow row : rows) {
+                if (row.value() == null) {
+                    continue;
+                }
+                if (row.value().isBlank()) {
+                    cleared.add(new Object[] {row.key()});
+                } else if (AnoConverter.isYear(row.value())) {
+                    if (!row.value().equals(row.value().trim())) {
+                        years.add(new Object[] {row.value().trim(), row.key()});
+                    }
+                } else {
+                    cleared.add(new Object[] {row.key()});
+                    rejected.add(new Object[] {row.key(), row.value()});
+                }
+            }
+            jdbcTemplate.batchUpdate("MERGE INTO " + quarentena + " (" + key + ", " + column + ") KEY (" + key
+                    + ") VALUES (?, ?)", rejected);
+            jdbcTemplate.batchUpdate("UPDATE " + table + " SET " + column + " = NULL WHERE " + key + " = ?", cleared);
+            jdbcTemplate.batchUpdate("UPDATE " + table + " SET " + column + " = ? WHERE " + key + " = ?", years);
+        });
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " SET DATA TYPE SMALLINT");
+        return true;
+    }
+
+    /**
+     * Go over (key, column) of every row of a table in chunks of CHUNK_SIZE in key order, handling
+     * each chunk in its own transaction.
+     *
+     * @param firstKey a value lower than every key
+     */
+    private void scanText(String table, String key, String column, Object firstKey, Consumer<List<TextRow>> handler) {
+        Object after = firstKey;
+        while (true) {
+            List<TextRow> rows = jdbcTemplate.query(
+                    "SELECT " + key + ", " + column + " FROM " + table + " WHERE " + key + " > ? ORDER BY " + key
+                            + " LIMIT ?",
+                    (rs, rowNum) -> new TextRow(rs.getObject(1), rs.getString(2)),
+                    after, CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> handler.accept(rows));
+            if (rows.size() < CHUNK_SIZE) {
+                return;
+            }
+            after = rows.get(rows.size() - 1).key();
+        }
+    }
+
+    /**
+     * JDBC type of a column (java.sql.Types), or null when the table or the column does not exist.
+     */
+    Integer columnType(String table, String column) {
+        return column(table, column, columns -> columns.getInt("DATA_TYPE"));
+    }
+
+    /**
+     * SQL type of an existing column as the database names it, for instance CHARACTER VARYING(50).
+     */
+    private String columnTypeName(String table, String column) {
+        return column(table, column, columns -> isText(columns.getInt("DATA_TYPE"))
+                ? columns.getString("TYPE_NAME") + "(" + columns.getInt("COLUMN_SIZE") + ")"
+                : columns.getString("TYPE_NAME"));
+    }
+
+    /**
+     * Read the DatabaseMetaData.getColumns row of a column, or return null when there is none.
+     */
+    private <T> T column(String table, String column, ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upper = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    upper ? table.toUpperCase() : table, upper ? column.toUpperCase() : column)) {
+                return columns.next() ? extractor.extractData(columns) : null;
+            }
+        });
+    }
+
+    private static boolean isText(int type) {
+        return type == Types.CHAR || type == Types.VARCHAR || type == Types.LONGVARCHAR
+                || type == Types.NCHAR || type == Types.NVARCHAR || type == Types.LONGNVARCHAR;
+    }
+
+    private record TextRow(Object key, String value) {
+    }
+
+    private record CnpjRow(String codigo, String cnpj, Long cnpjNumerico) {
+    }
+}
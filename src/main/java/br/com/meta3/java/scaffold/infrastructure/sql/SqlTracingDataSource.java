@@ -0,0 +1,176 @@
+package br.com.meta3.java.scaffold.infrastructure.sql;
+
+import br.com.meta3.java.scaffold.application.diagnostics.SqlTraceBuffer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that times every statement execution and reports it to SqlTraceBuffer.
+ *
+ * Design notes:
+ * - Connections and statements are JDK dynamic proxies over the pooled objects. The cost per
+ *   statement is a few reflective calls and two System.nanoTime() reads; parameter values are only
+ *   converted to text for sampled executions.
+ * - The sampling decision is taken when a PreparedStatement is created and again after each
+ *   execution, so a statement reused for many executions (JDBC batches, JdbcTemplate) is sampled
+ *   per execution and not once for its lifetime.
+ * - unwrap() and isWrapperFor() go to the pooled object, so code that needs the driver connection
+ *   (or Hikari through DataSourceUnwrapper) still gets it, untraced.
+ */
+class SqlTracingDataSource extends DelegatingDataSource {
+
+    private final SqlTraceBuffer buffer;
+
+    SqlTracingDataSource(DataSource target, SqlTraceBuffer buffer) {
+        super(target);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+    }
+
+    // equals/hashCode compare the proxies, so pools and transaction holders see one object per wrapper.
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = SqlTracingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    /**
+     * Times execute* calls; for prepared statements, records the bound values of sampled executions.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        // SQL of a prepared statement, or of the last addBatch(String) of a plain statement.
+        private String sql;
+        private boolean sampled;
+        private List<String> parameters;
+        private int batchSize;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+            resetSampling();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && args[0] instanceof String batchSql) {
+                    sql = batchSql;
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (parameters != null && batchSize == 0 && name.startsWith("set") && args != null
+                    && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (parameters != null && name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return SqlTracingDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return SqlTracingDataSource.invoke(target, method, args);
+            } catch (Throwable ex) {
+                error = ex;
+                throw ex;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                buffer.completed(executed, parameters == null ? null : List.copyOf(parameters),
+                        Math.max(1, batchSize), nanos, sampled, error);
+                if (method.getName().equals("executeBatch")) {
+                    batchSize = 0;
+                }
+                resetSampling();
+            }
+        }
+
+        // Values of the first batch entry only: enough to reproduce the statement.
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add("?");
+            }
+            parameters.set(index - 1, SqlTraceBuffer.describe(value));
+        }
+
+        private void resetSampling() {
+            sampled = buffer.sample();
+            parameters = sampled && target instanceof PreparedStatement ? new ArrayList<>() : null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.meta3.java.scaffold.infrastructure.sql;
+
+import br.com.meta3.java.scaffold.application.diagnostics.SqlTraceBuffer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application DataSource in a SqlTracingDataSource, so JPA, JdbcTemplate and the JDBC
+ * repositories are all traced without changing how they obtain connections.
+ *
+ * Disabled with sql.trace.enabled=false (the DataSource is then used as is). The buffer is looked
+ * up lazily because bean post-processors are created before ordinary beans.
+ */
+@Component
+public class SqlTracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlTraceBuffer> buffer;
+    private final boolean enabled;
+
+    public SqlTracingDataSourcePostProcessor(ObjectProvider<SqlTraceBuffer> buffer,
+                                             @Value("${sql.trace.enabled:true}") boolean enabled) {
+        this.buffer = buffer;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SqlTracingDataSource)) {
+            return new SqlTracingDataSource(dataSource, buffer.getObject());
+        }
+        return bean;
+    }
+}
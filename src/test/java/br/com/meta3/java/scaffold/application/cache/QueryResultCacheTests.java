@@ -0,0 +1,48 @@
+package br.com.meta3.java.scaffold.application.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the query result cache with a plain ObjectMapper.
+ */
+class QueryResultCacheTests {
+
+    private final QueryResultCache cache = new QueryResultCache(new ObjectMapper(), 1 << 20);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void hitReturnsTheCachedJsonAndRowCountWithoutLoading() {
+        QueryResultCache.Result miss = cache.get("t", "q", "a", () -> load("x", "y"));
+        QueryResultCache.Result hit = cache.get("t", "q", "a", () -> load("z"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(hit.rows()).isEqualTo(2);
+        assertThat(new String(hit.json(), StandardCharsets.UTF_8)).isEqualTo("[\"x\",\"y\"]");
+        assertThat(hit).isSameAs(miss);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateReloadsOnlyThatTable() {
+        cache.get("t", "q", "a", () -> load("x"));
+        cache.get("other", "q", "a", () -> load("x"));
+
+        cache.invalidate("t");
+
+        assertThat(cache.get("t", "q", "a", () -> load()).rows()).isZero();
+        assertThat(cache.get("other", "q", "a", () -> load()).rows()).isEqualTo(1);
+        assertThat(loads).hasValue(3);
+    }
+
+    private List<String> load(String... rows) {
+        loads.incrementAndGet();
+        return List.of(rows);
+    }
+}
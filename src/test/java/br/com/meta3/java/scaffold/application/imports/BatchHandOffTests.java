@@ -0,0 +1,92 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the hand-off between the parse and persist stages, with an in-memory sink.
+ */
+class BatchHandOffTests {
+
+    private static ImportBatch batch(long resumePosition) {
+        return new ImportBatch(List.of(), resumePosition, 0);
+    }
+
+    @Test
+    void abortWaitsForTheBatchBeingPersisted() throws InterruptedException {
+        CountDownLatch persisting = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        BatchHandOff handOff = new BatchHandOff(2, batch -> {
+            persisting.countDown();
+            // Like a JDBC call, ignore the interrupt and finish the work.
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            finished.set(true);
+        }, "test-persist");
+
+        handOff.accept(batch(1));
+        assertThat(persisting.await(5, TimeUnit.SECONDS)).isTrue();
+        handOff.abort(new IllegalStateException("producer failed"));
+
+        assertThat(finished).isTrue();
+    }
+
+    @Test
+    void abortAddsThePersistFailureAsSuppressed() throws InterruptedException {
+        CountDownLatch persisting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BatchHandOff handOff = new BatchHandOff(2, batch -> {
+            persisting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                // A driver reports the interrupt as its own failure.
+                throw new IllegalStateException("connection closed");
+            }
+        }, "test-persist");
+
+        handOff.accept(batch(1));
+        assertThat(persisting.await(5, TimeUnit.SECONDS)).isTrue();
+        IllegalStateException cause = new IllegalStateException("producer failed");
+        handOff.abort(cause);
+
+        assertThat(cause.getSuppressed()).extracting(Throwable::getMessage).containsExactly("connection closed");
+    }
+
+    @Test
+    void persistFailureIsRethrownToTheProducer() {
+        BatchHandOff handOff = new BatchHandOff(1, batch -> {
+            throw new IllegalStateException("duplicate");
+        }, "test-persist");
+
+        // Rethrown by accept or, if the consumer has not failed yet, by close.
+        assertThatThrownBy(() -> {
+            handOff.accept(batch(1));
+            handOff.close();
+        }).isInstanceOf(IllegalStateException.class).hasMessage("duplicate");
+    }
+
+    @Test
+    void abortWithTheRethrownFailureDoesNotSuppressItself() {
+        IllegalStateException failure = new IllegalStateException("duplicate");
+        BatchHandOff handOff = new BatchHandOff(1, batch -> {
+            throw failure;
+        }, "test-persist");
+        assertThatThrownBy(() -> {
+            handOff.accept(batch(1));
+            handOff.close();
+        }).isSameAs(failure);
+
+        handOff.abort(failure);
+
+        assertThat(failure.getSuppressed()).isEmpty();
+    }
+}
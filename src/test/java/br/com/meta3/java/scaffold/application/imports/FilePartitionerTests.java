@@ -0,0 +1,111 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.meta3.java.scaffold.application.imports.FilePartitioner.FileRange;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests of the line-aligned partitioning over small temporary files.
+ *
+ * The main check parses every range with FixedWidthRecadastramentoParser.parseRange, as the import
+ * does, and compares the result with a single parse of the whole file: every line must be read
+ * exactly once, whatever the number of partitions.
+ */
+class FilePartitionerTests {
+
+    @TempDir
+    private Path dir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 7, 16, 64})
+    void everyLineIsReadExactlyOnceAcrossPartitions(int partitions) throws IOException {
+        // Mixed LF/CRLF terminators, lines of different lengths and a last line without newline.
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            content.append(FixedWidthRecadastramentoParserTests.record("A" + i, "", "", "2024", "NOME " + i, "",
+                    "Bairro " + i), 0, 60 + i * 4);
+            if (i < 39) {
+                content.append(i % 3 == 0 ? "\r\n" : "\n");
+            }
+        }
+        Path file = write(content.toString());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<FileRange> ranges = FilePartitioner.partition(channel, partitions);
+            List<Long> offsets = new ArrayList<>();
+            List<String> codigos = new ArrayList<>();
+            long records = 0;
+            for (FileRange range : ranges) {
+                // A small window also makes lines cross window boundaries inside a range.
+                records += new FixedWidthRecadastramentoParser(300).parseRange(channel, range.start(), range.end(),
+                        (offset, nextOffset, dto) -> {
+                            offsets.add(offset);
+                            codigos.add(dto.getCodigo());
+                        });
+            }
+
+            List<Long> expected = new ArrayList<>();
+            new FixedWidthRecadastramentoParser().parse(file, (offset, nextOffset, dto) -> expected.add(offset));
+            assertThat(records).isEqualTo(40);
+            assertThat(offsets).containsExactlyElementsOf(expected);
+            assertThat(codigos).doesNotHaveDuplicates().hasSize(40);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 10})
+    void rangesAreContiguousAndStartAtLineStarts(int partitions) throws IOException {
+        Path file = write("L0\r\nL1 longer line\nL2\r\nL3\nL4 without newline");
+        byte[] bytes = Files.readAllBytes(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<FileRange> ranges = FilePartitioner.partition(channel, partitions);
+
+            assertThat(ranges).isNotEmpty().hasSizeLessThanOrEqualTo(partitions);
+            assertThat(ranges.get(0).start()).isZero();
+            assertThat(ranges.get(ranges.size() - 1).end()).isEqualTo(bytes.length);
+            for (int i = 0; i < ranges.size(); i++) {
+                FileRange range = ranges.get(i);
+                assertThat(range.length()).isPositive();
+                if (i > 0) {
+                    assertThat(range.start()).isEqualTo(ranges.get(i - 1).end());
+                    assertThat(bytes[(int) range.start() - 1]).isEqualTo((byte) '\n');
+                }
+            }
+        }
+    }
+
+    @Test
+    void emptyFileHasNoRanges() throws IOException {
+        Path file = write("");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThat(FilePartitioner.partition(channel, 4)).isEmpty();
+        }
+    }
+
+    @Test
+    void singleLineIsOneRange() throws IOException {
+        Path file = write("only line without newline");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThat(FilePartitioner.partition(channel, 8)).containsExactly(new FileRange(0, Files.size(file)));
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(dir.resolve("recadastramento.txt"), content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
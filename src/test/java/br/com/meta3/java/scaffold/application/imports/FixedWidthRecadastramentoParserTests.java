@@ -0,0 +1,152 @@
+package br.com.meta3.java.scaffold.application.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoRecadastramentoEstadoDto;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests of the fixed-width parser over small temporary files.
+ *
+ * Window-boundary cases use a parser with a window of a few hundred bytes, so a line crosses the
+ * end of a mapped window without needing a 64 MiB file.
+ */
+class FixedWidthRecadastramentoParserTests {
+
+    private static final int FULL_LINE = FixedWidthRecadastramentoParser.RECORD_LENGTH;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void parsesTrimmedFieldsAtFixedOffsets() throws IOException {
+        Path file = write(record("A1", "SEC1", "2024-01-15", "2024", "JOÃO DA SILVA", "12345678000190", "Centro") + "\n");
+
+        List<Parsed> parsed = parse(new FixedWidthRecadastramentoParser(), file);
+
+        assertThat(parsed).hasSize(1);
+        ArquivoRecadastramentoEstadoDto dto = parsed.get(0).dto();
+        assertThat(dto.getCodigo()).isEqualTo("A1");
+        assertThat(dto.getCodigoSec()).isEqualTo("SEC1");
+        assertThat(dto.getDataMovimentacao()).isEqualTo("2024-01-15");
+        assertThat(dto.getAnoBase()).isEqualTo("2024");
+        assertThat(dto.getNome()).isEqualTo("JOÃO DA SILVA");
+        assertThat(dto.getCnpj()).isEqualTo("12345678000190");
+        assertThat(dto.getBairro()).isEqualTo("Centro");
+        assertThat(parsed.get(0).offset()).isZero();
+        assertThat(parsed.get(0).nextOffset()).isEqualTo(FULL_LINE + 1);
+    }
+
+    @Test
+    void stripsCrlfTerminators() throws IOException {
+        // The second line is cut right after bairro, so the '\r' would land in the last field.
+        String first = record("A1", "", "", "2024", "ANA", "", "Centro");
+        String second = record("A2", "", "", "2024", "BIA", "", "Norte").substring(0,
+                FixedWidthRecadastramentoParser.BAIRRO_OFFSET + "Norte".length());
+        Path file = write(first + "\r\n" + second + "\r\n");
+
+        List<Parsed> parsed = parse(new FixedWidthRecadastramentoParser(), file);
+
+        assertThat(parsed).extracting(p -> p.dto().getBairro()).containsExactly("Centro", "Norte");
+        assertThat(parsed.get(1).offset()).isEqualTo(FULL_LINE + 2);
+        assertThat(parsed.get(1).nextOffset()).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    void parsesLastLineWithoutNewline() throws IOException {
+        Path file = write(record("A1", "", "", "2024", "ANA", "", "Centro") + "\n"
+                + record("A2", "", "", "2024", "BIA", "", "Norte"));
+
+        List<Parsed> parsed = parse(new FixedWidthRecadastramentoParser(), file);
+
+        assertThat(parsed).extracting(p -> p.dto().getCodigo()).containsExactly("A1", "A2");
+        assertThat(parsed.get(1).nextOffset()).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    void skipsBlankLinesAndShortLinesHaveEmptyFields() throws IOException {
+        Path file = write("\n   \r\nA1\n\n");
+
+        List<Parsed> parsed = parse(new FixedWidthRecadastramentoParser(), file);
+
+        assertThat(parsed).hasSize(1);
+        assertThat(parsed.get(0).dto().getCodigo()).isEqualTo("A1");
+        assertThat(parsed.get(0).dto().getBairro()).isEmpty();
+        assertThat(parsed.get(0).offset()).isEqualTo(6);
+    }
+
+    @Test
+    void remapsLinesThatCrossAWindowBoundary() throws IOException {
+        // 300-byte windows over 251/252-byte lines: every line after the first crosses a boundary,
+        // including a CRLF split between two windows and a last line without newline.
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            content.append(record("A" + i, "", "", "2024", "NOME " + i, "", "Bairro " + i));
+            if (i < 6) {
+                content.append(i % 2 == 0 ? "\n" : "\r\n");
+            }
+        }
+        Path file = write(content.toString());
+
+        List<Parsed> small = parse(new FixedWidthRecadastramentoParser(300), file);
+        List<Parsed> whole = parse(new FixedWidthRecadastramentoParser(), file);
+
+        assertThat(small).extracting(p -> p.dto().getCodigo())
+                .containsExactly("A0", "A1", "A2", "A3", "A4", "A5", "A6");
+        assertThat(small).extracting(p -> p.dto().getBairro()).allMatch(bairro -> bairro.startsWith("Bairro "));
+        assertThat(small).extracting(Parsed::offset).containsExactlyElementsOf(whole.stream().map(Parsed::offset).toList());
+        assertThat(small).extracting(Parsed::nextOffset).containsExactlyElementsOf(whole.stream().map(Parsed::nextOffset).toList());
+    }
+
+    @Test
+    void rejectsLinesLongerThanAWindow() throws IOException {
+        Path file = write(record("A1", "", "", "2024", "ANA", "", "Centro") + "\n"
+                + record("A2", "", "", "2024", "BIA", "", "Norte") + "\n");
+
+        assertThatThrownBy(() -> parse(new FixedWidthRecadastramentoParser(100), file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds 100 bytes");
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(dir.resolve("recadastramento.txt"), content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static List<Parsed> parse(FixedWidthRecadastramentoParser parser, Path file) throws IOException {
+        List<Parsed> parsed = new ArrayList<>();
+        long records = parser.parse(file, (offset, nextOffset, dto) -> parsed.add(new Parsed(offset, nextOffset, dto)));
+        assertThat(records).isEqualTo(parsed.size());
+        return parsed;
+    }
+
+    /**
+     * Full-length record (RECORD_LENGTH bytes) with every field left-aligned and blank padded.
+     */
+    static String record(String codigo, String codigoSec, String dataMovimentacao, String anoBase, String nome,
+                         String cnpj, String bairro) {
+        return pad(codigo, FixedWidthRecadastramentoParser.CODIGO_LENGTH)
+                + pad(codigoSec, FixedWidthRecadastramentoParser.CODIGO_SEC_LENGTH)
+                + pad(dataMovimentacao, FixedWidthRecadastramentoParser.DATA_MOVIMENTACAO_LENGTH)
+                + pad(anoBase, FixedWidthRecadastramentoParser.ANO_BASE_LENGTH)
+                + pad(nome, FixedWidthRecadastramentoParser.NOME_LENGTH)
+                + pad(cnpj, FixedWidthRecadastramentoParser.CNPJ_LENGTH)
+                + pad(bairro, FixedWidthRecadastramentoParser.BAIRRO_LENGTH)
+                + pad("", FULL_LINE - FixedWidthRecadastramentoParser.BAIRRO_OFFSET
+                        - FixedWidthRecadastramentoParser.BAIRRO_LENGTH);
+    }
+
+    private static String pad(String value, int length) {
+        return String.format("%-" + length + "s", value);
+    }
+
+    private record Parsed(long offset, long nextOffset, ArquivoRecadastramentoEstadoDto dto) {
+    }
+}
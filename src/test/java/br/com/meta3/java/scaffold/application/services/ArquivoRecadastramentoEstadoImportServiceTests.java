@@ -0,0 +1,198 @@
+package br.com.meta3.java.scaffold.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDto;
+import br.com.meta3.java.scaffold.api.dtos.ImportResultDto;
+import br.com.meta3.java.scaffold.application.imports.FixedWidthRecadastramentoParser;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoImportacao;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoImportacaoRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/**
+ * Checkpointed import jobs against the H2 schema: a job that crashes after a few batches is resumed
+ * and must end with every valid row stored exactly once and the same counters as an uninterrupted run.
+ *
+ * Small batches and two partitions make the file span several checkpoints per range. The crash is a
+ * failing checkpoint save, inside the batch transaction: the rows of that batch must be rolled back
+ * with it. Every test uses its own codigo prefix, so rows of other tests never interfere.
+ */
+@SpringBootTest(properties = {
+        "recadastramento.import.batch-size=10",
+        "recadastramento.import.parallelism=2",
+        "recadastramento.import.min-partition-bytes=1"})
+class ArquivoRecadastramentoEstadoImportServiceTests {
+
+    private static final int LINES = 95;
+
+    // Lines rejected by validation (invalid year).
+    private static final List<Integer> INVALID = List.of(7, 53);
+
+    @Autowired
+    private ArquivoRecadastramentoEstadoImportService importService;
+
+    @MockitoSpyBean
+    private ArquivoImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "R" + UUID.randomUUID().toString().substring(0, 6);
+
+    private Path file;
+    private ArquivoDto job;
+
+    @BeforeEach
+    void createJob() throws IOException {
+        file = importService.storeUpload(new ByteArrayInputStream(content().getBytes(StandardCharsets.ISO_8859_1)));
+        job = importService.createJob(file, summary());
+    }
+
+    @Test
+    void resumesACrashedJobWithoutDuplicateOrMissingRows() throws IOException {
+        crashOnCheckpoint(3);
+
+        assertThatThrownBy(() -> importService.runJob(job.getCodigoarquivo()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("simulated crash");
+
+        // Only committed batches are stored, and exactly those are covered by the checkpoints.
+        List<ArquivoImportacao> checkpoints = importacaoRepository.findByCodigoarquivo(job.getCodigoarquivo());
+        long committed = checkpoints.stream().mapToLong(c -> c.getRegistros() - c.getComerro()).sum();
+        assertThat(storedCodigos()).hasSize((int) committed).hasSizeLessThan(LINES - INVALID.size());
+        assertThat(checkpoints).extracting(ArquivoImportacao::getStatus).contains(ArquivoImportacao.STATUS_FALHA);
+
+        ImportResultDto result = importService.runJob(job.getCodigoarquivo());
+
+        assertThat(storedCodigos()).containsExactlyElementsOf(expectedCodigos());
+        assertCountersOfACompleteRun(result);
+        assertThat(importacaoRepository.findByCodigoarquivo(job.getCodigoarquivo()))
+                .allMatch(ArquivoImportacao::isConcluida);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void runsAJobWithoutCrashToTheSameResult() throws IOException {
+        ImportResultDto result = importService.runJob(job.getCodigoarquivo());
+
+        assertThat(storedCodigos()).containsExactlyElementsOf(expectedCodigos());
+        assertCountersOfACompleteRun(result);
+    }
+
+    @Test
+    void refusesToResumeWhenTheFileChanged() throws IOException {
+        crashOnCheckpoint(1);
+        assertThatThrownBy(() -> importService.runJob(job.getCodigoarquivo())).hasMessage("simulated crash");
+        Files.writeString(file, "\n", StandardCharsets.ISO_8859_1, StandardOpenOption.APPEND);
+
+        assertThatThrownBy(() -> importService.runJob(job.getCodigoarquivo()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("changed since the import job started");
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Make the n-th checkpoint (counted across both ranges) fail inside its batch transaction.
+     */
+    private void crashOnCheckpoint(int n) {
+        AtomicInteger checkpoints = new AtomicInteger();
+        // The repository is an interface proxy: its spy delegates to the real bean by default answer.
+        Answer<?> real = mockingDetails(importacaoRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            // Checkpoints are saved by the persist threads; status changes by the workers.
+            if (Thread.currentThread().getName().startsWith("recadastramento-persist")
+                    && checkpoints.incrementAndGet() == n) {
+                throw new IllegalStateException("simulated crash");
+            }
+            return real.answer(invocation);
+        }).when(importacaoRepository).save(any());
+    }
+
+    private void assertCountersOfACompleteRun(ImportResultDto result) {
+        int valid = LINES - INVALID.size();
+        int aptos = 0;
+        int comCodigoSetps = 0;
+        for (int i = 0; i < LINES; i++) {
+            if (!INVALID.contains(i)) {
+                aptos += i % 2 == 0 ? 1 : 0;
+                comCodigoSetps += i % 3 == 0 ? 1 : 0;
+            }
+        }
+        ArquivoDto arquivo = result.getArquivo();
+        assertThat(arquivo.getQuantidaderegistro()).isEqualTo(LINES);
+        assertThat(arquivo.getAptos()).isEqualTo(aptos);
+        assertThat(arquivo.getSemdocumento()).isEqualTo(valid - aptos);
+        assertThat(arquivo.getComcodigosetps()).isEqualTo(comCodigoSetps);
+        assertThat(arquivo.getComerro()).isEqualTo(INVALID.size());
+        assertThat(result.getInserted()).isEqualTo(valid);
+        assertThat(result.getRejected()).isEqualTo(INVALID.size());
+        // Only the validation errors of this run: no row was reported as already stored.
+        assertThat(result.getErrors()).noneMatch(error -> error.contains("already exists"));
+    }
+
+    private List<String> storedCodigos() {
+        return jdbcTemplate.queryForList("SELECT codigo FROM arquivo_recadastramento_estado WHERE codigo LIKE ?"
+                + " ORDER BY codigo", String.class, prefix + "%");
+    }
+
+    private List<String> expectedCodigos() {
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            if (!INVALID.contains(i)) {
+                codigos.add(codigo(i));
+            }
+        }
+        return codigos;
+    }
+
+    private String content() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            content.append(pad(codigo(i), FixedWidthRecadastramentoParser.CODIGO_LENGTH))
+                    .append(pad(i % 3 == 0 ? "SETPS" : "", FixedWidthRecadastramentoParser.CODIGO_SEC_LENGTH))
+                    .append(pad("15/01/2024", FixedWidthRecadastramentoParser.DATA_MOVIMENTACAO_LENGTH))
+                    .append(pad(INVALID.contains(i) ? "20xx" : "2024", FixedWidthRecadastramentoParser.ANO_BASE_LENGTH))
+                    .append(pad("NOME " + i, FixedWidthRecadastramentoParser.NOME_LENGTH))
+                    .append(pad(i % 2 == 0 ? "12.345.678/0001-90" : "", FixedWidthRecadastramentoParser.CNPJ_LENGTH))
+                    .append(pad("Centro", FixedWidthRecadastramentoParser.BAIRRO_LENGTH))
+                    .append('\n');
+        }
+        return content.toString();
+    }
+
+    private String codigo(int i) {
+        return String.format("%s%03d", prefix, i);
+    }
+
+    private static ArquivoDto summary() {
+        ArquivoDto summary = new ArquivoDto();
+        summary.setNomearquivo("recadastramento.txt");
+        summary.setAnovigencia("2024");
+        summary.setCodigoescola("E1");
+        return summary;
+    }
+
+    private static String pad(String value, int length) {
+        return String.format("%-" + length + "s", value);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests of the year mapping: whatever REGEXP accepts must come back from the column as the
+ * normalized text, and whatever it rejects must be rejected by the converter too.
+ */
+class AnoConverterTests {
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "1000", "2024", " 2024 ", "9999"})
+    void acceptedValuesSurviveTheRoundTrip(String ano) {
+        assertThat(ano == null || ano.matches(AnoConverter.REGEXP)).isTrue();
+
+        assertThat(AnoConverter.toAttribute(AnoConverter.toColumn(ano))).isEqualTo(AnoConverter.normalize(ano));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0999", "0000", "999", "10000", "20 24", "2024a", "+202", "-202", "２０２４"})
+    void valuesThatWouldNotSurviveTheRoundTripAreRejected(String ano) {
+        assertThat(ano.matches(AnoConverter.REGEXP)).isFalse();
+        assertThat(AnoConverter.isYear(ano)).isFalse();
+
+        assertThatThrownBy(() -> AnoConverter.toColumn(ano)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests of the static normalizers of ArquivoRecadastramentoEstado: the CNPJ key and the legacy
+ * movement date formats.
+ */
+class ArquivoRecadastramentoEstadoTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12345678000190", "12.345.678/0001-90", " 12 345 678 0001 90 ", "12-345-678/0001.90"})
+    void normalizeCnpjIgnoresFormatting(String cnpj) {
+        assertThat(ArquivoRecadastramentoEstado.normalizeCnpj(cnpj)).isEqualTo(12345678000190L);
+    }
+
+    @Test
+    void normalizeCnpjKeepsLeadingZerosOfAFullCnpj() {
+        assertThat(ArquivoRecadastramentoEstado.normalizeCnpj("00.000.000/0001-91")).isEqualTo(191L);
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "   ", "./-", "191", "0000000000191", "1234567800019", "123456780001900",
+            "12.345.678/0001-901"})
+    void normalizeCnpjRejectsAnythingButFourteenDigits(String cnpj) {
+        assertThat(ArquivoRecadastramentoEstado.normalizeCnpj(cnpj)).isNull();
+    }
+
+    @Test
+    void setCnpjKeepsTheNumericKeyInSync() {
+        ArquivoRecadastramentoEstado entity = new ArquivoRecadastramentoEstado();
+
+        entity.setCnpj("12.345.678/0001-90");
+        assertThat(entity.getCnpjNumerico()).isEqualTo(12345678000190L);
+
+        entity.setCnpj("123");
+        assertThat(entity.getCnpj()).isEqualTo("123");
+        assertThat(entity.getCnpjNumerico()).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "15/01/2024; 2024-01-15",
+            "5/1/2024; 2024-01-05",
+            "15-01-2024; 2024-01-15",
+            "15.01.2024; 2024-01-15",
+            "15/01/24; 2024-01-15",
+            "15/01/49; 2049-01-15",
+            "15/01/50; 1950-01-15",
+            "15012024; 2024-01-15",
+            "2024-01-15; 2024-01-15",
+            "2024/1/5; 2024-01-05",
+            "20240115; 2024-01-15",
+            "'  15/01/2024  '; 2024-01-15",
+            "2024-01-15 10:30:00; 2024-01-15",
+            "2024-01-15T10:30:00; 2024-01-15",
+            "15/01/2024 10:30; 2024-01-15",
+            "29/02/2024; 2024-02-29"})
+    void parseDataMovimentacaoReadsTheLegacyFormats(String text, LocalDate expected) {
+        assertThat(ArquivoRecadastramentoEstado.parseDataMovimentacao(text)).isEqualTo(expected);
+    }
+
+    @Test
+    void parseDataMovimentacaoReadsEightDigitsYearFirstWhenThatIsADate() {
+        // 2024-12-01 as yyyyMMdd wins over 20/24/1201 as ddMMyyyy, which is not a date anyway.
+        assertThat(ArquivoRecadastramentoEstado.parseDataMovimentacao("20241201")).isEqualTo(LocalDate.of(2024, 12, 1));
+        // Not a valid yyyyMMdd (month 20), so read as ddMMyyyy.
+        assertThat(ArquivoRecadastramentoEstado.parseDataMovimentacao("01122024")).isEqualTo(LocalDate.of(2024, 12, 1));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   "})
+    void parseDataMovimentacaoReturnsNullForBlank(String text) {
+        assertThat(ArquivoRecadastramentoEstado.parseDataMovimentacao(text)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"31/02/2024", "29/02/2023", "2024-13-01", "00/01/2024", "150124", "ontem", "15/01", "2024"})
+    void parseDataMovimentacaoRejectsInvalidDates(String text) {
+        assertThatThrownBy(() -> ArquivoRecadastramentoEstado.parseDataMovimentacao(text))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(text);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoResumoRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delta writes on arquivo_resumo against the H2 schema, including two transactions creating the
+ * same group concurrently.
+ *
+ * Every test uses its own school code, so the rows never collide with other tests.
+ */
+@SpringBootTest
+class ArquivoResumoJdbcRepositoryImplTests {
+
+    private static final String ANO = "2099";
+
+    @Autowired
+    private ArquivoResumoRepository resumoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String escola = "T" + UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM arquivo_resumo WHERE codigo_escola = ?", escola);
+    }
+
+    @Test
+    void addsDeltasToTheGroupRow() {
+        resumoRepository.applyDeltas(List.of(delta(1, 10)));
+        resumoRepository.applyDeltas(List.of(delta(2, 5)));
+
+        ArquivoEstatistica resumo = resumoRepository.findResumo(ANO, escola).orElseThrow();
+        assertThat(resumo.arquivos()).isEqualTo(3);
+        assertThat(resumo.quantidaderegistro()).isEqualTo(15);
+    }
+
+    @Test
+    void deletesGroupsLeftWithoutArquivo() {
+        resumoRepository.applyDeltas(List.of(delta(1, 10)));
+        resumoRepository.applyDeltas(List.of(delta(-1, -10)));
+
+        assertThat(resumoRepository.findResumo(ANO, escola)).isEmpty();
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void concurrentFirstDeltasOfAGroupAreBothApplied() throws Exception {
+        CountDownLatch firstApplied = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        // The first transaction inserts the new group row and keeps it uncommitted for a while.
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            resumoRepository.applyDeltas(List.of(delta(1, 10)));
+            firstApplied.countDown();
+            await(secondStarted);
+            sleep(300);
+        }));
+        await(firstApplied);
+        // The second one does not see that row, so its INSERT waits and then fails on the primary key.
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            secondStarted.countDown();
+            resumoRepository.applyDeltas(List.of(delta(1, 20)));
+        }));
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        ArquivoEstatistica resumo = resumoRepository.findResumo(ANO, escola).orElseThrow();
+        assertThat(resumo.arquivos()).isEqualTo(2);
+        assertThat(resumo.quantidaderegistro()).isEqualTo(30);
+        assertThat(rows()).isEqualTo(1);
+    }
+
+    private ArquivoEstatistica delta(long arquivos, long registros) {
+        return new ArquivoEstatistica(escola, ANO, arquivos, registros, 0L, 0L, 0L, 0L);
+    }
+
+    private long rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM arquivo_resumo WHERE codigo_escola = ?", Long.class, escola);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.meta3.java.scaffold.application.diagnostics.SqlTraceBuffer;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoEstatistica;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Query-plan regression tests: every filtered repository query must be answered through an index.
+ *
+ * Each case calls a repository method; the SQL trace (sample-rate=1, so every statement keeps its
+ * bound values) captures the statements it actually issued, and each captured read, update or
+ * delete is explained by H2 with the same values against the schema Hibernate created from the
+ * entity mappings. A plan containing "tableScan" means a missing or unusable index. Inserts read no
+ * index and are not explained. Calls that write run in a transaction that is rolled back.
+ *
+ * Unfiltered reads (findAll, findAllViews, streamAll, findFirstPage, the arquivo_resumo roll-ups and
+ * rebuild) read the whole table by design and are not listed.
+ *
+ * Note: H2 costs an empty table as if it held about 1000 rows, so the plans are the ones chosen for
+ * a populated table and no fixture data is needed.
+ */
+@SpringBootTest(properties = "sql.trace.sample-rate=1")
+class RepositoryQueryPlanTests {
+
+    @Autowired
+    private ArquivoJpaRepository arquivoRepository;
+
+    @Autowired
+    private ArquivoRecadastramentoEstadoJpaRepository recadastramentoRepository;
+
+    @Autowired
+    private ArquivoImportacaoJpaRepository importacaoRepository;
+
+    @Autowired
+    private ArquivoResumoJpaRepository resumoRepository;
+
+    @Autowired
+    private SqlTraceBuffer sqlTrace;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static Stream<QueryCase> repositoryQueries() {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 1, 31);
+        return Stream.of(
+                // ArquivoJpaRepository
+                new QueryCase("Arquivo.findViewById", "PRIMARY_KEY",
+                        t -> t.arquivoRepository.findViewById(1)),
+                new QueryCase("Arquivo.findPageAfter", "PRIMARY_KEY",
+                        t -> t.arquivoRepository.findPageAfter(1, Limit.of(50))),
+                new QueryCase("Arquivo.findByCodigoescola", "IDX_ARQUIVO_CODIGO_ESCOLA",
+                        t -> t.arquivoRepository.findByCodigoescola("123")),
+                new QueryCase("Arquivo.findByAnovigencia", "IDX_ARQUIVO_ANO_VIGENCIA_CODIGO_ESCOLA",
+                        t -> t.arquivoRepository.findByAnovigencia("2024")),
+                // ArquivoRecadastramentoEstadoJpaRepository
+                new QueryCase("ArquivoRecadastramentoEstado.findViewById", "PRIMARY_KEY",
+                        t -> t.recadastramentoRepository.findViewById("A1")),
+                new QueryCase("ArquivoRecadastramentoEstado.findPageAfter", "PRIMARY_KEY",
+                        t -> t.recadastramentoRepository.findPageAfter("A1", Limit.of(50))),
+                new QueryCase("ArquivoRecadastramentoEstado.findExistingCodigos", "PRIMARY_KEY",
+                        t -> t.recadastramentoRepository.findExistingCodigos(List.of("A1", "A2"))),
+                new QueryCase("ArquivoRecadastramentoEstado.findByAnoBase", "IDX_RECADASTRAMENTO_ANO_BASE_BAIRRO",
+                        t -> t.recadastramentoRepository.findByAnoBase("2024")),
+                new QueryCase("ArquivoRecadastramentoEstado.findByBairro", "IDX_RECADASTRAMENTO_BAIRRO",
+                        t -> t.recadastramentoRepository.findByBairro("Centro")),
+                new QueryCase("ArquivoRecadastramentoEstado.findByCnpj", "IDX_RECADASTRAMENTO_CNPJ_NUMERICO",
+                        t -> t.recadastramentoRepository.findByCnpj("12.345.678/0001-95")),
+                new QueryCase("ArquivoRecadastramentoEstado.streamByDataMovimentacao",
+                        "IDX_RECADASTRAMENTO_DATA_MOVIMENTACAO",
+                        t -> t.recadastramentoRepository.streamByDataMovimentacao(inicio, fim).close()),
+                new QueryCase("ArquivoRecadastramentoEstado.findFirstPageByDataMovimentacao",
+                        "IDX_RECADASTRAMENTO_DATA_MOVIMENTACAO",
+                        t -> t.recadastramentoRepository.findFirstPageByDataMovimentacao(inicio, fim, Limit.of(50))),
+                new QueryCase("ArquivoRecadastramentoEstado.findPageByDataMovimentacaoAfter",
+                        "IDX_RECADASTRAMENTO_DATA_MOVIMENTACAO",
+                        t -> t.recadastramentoRepository.findPageByDataMovimentacaoAfter(inicio, fim,
+                                LocalDate.of(2024, 1, 15), "A1", Limit.of(50))),
+                // ArquivoImportacaoJpaRepository
+                new QueryCase("ArquivoImportacao.findByCodigoarquivo", "IDX_ARQUIVO_IMPORTACAO_CODIGO_ARQUIVO",
+                        t -> t.importacaoRepository.findByCodigoarquivo(1)),
+                // ArquivoResumoJpaRepository
+                new QueryCase("ArquivoResumo.findResumo", "PRIMARY_KEY",
+                        t -> t.resumoRepository.findResumo("2024", "123")),
+                // A new group (UPDATE, then INSERT) and its removal (UPDATE, then DELETE of the empty group).
+                new QueryCase("ArquivoResumo.applyDeltas", "PRIMARY_KEY",
+                        t -> t.inRolledBackTransaction(() -> {
+                            t.resumoRepository.applyDeltas(List.of(
+                                    new ArquivoEstatistica("123", "2024", 1L, 10L, 0L, 0L, 0L, 0L)));
+                            t.resumoRepository.applyDeltas(List.of(
+                                    new ArquivoEstatistica("123", "2024", -1L, -10L, 0L, 0L, 0L, 0L)));
+                        })));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndex(QueryCase query) {
+        List<SqlTraceBuffer.Entry> statements = capture(query);
+
+        assertThat(statements).as("statements of %s", query.name()).isNotEmpty();
+        for (SqlTraceBuffer.Entry statement : statements) {
+            String plan = explain(statement);
+            assertThat(plan).as("plan of %s: %s", query.name(), statement.sql()).doesNotContainIgnoringCase("tableScan");
+            assertThat(plan).as("plan of %s: %s", query.name(), statement.sql()).containsIgnoringCase(query.expectedIndex());
+        }
+    }
+
+    /**
+     * Run the repository call and return the reads, updates and deletes it issued, in order.
+     */
+    private List<SqlTraceBuffer.Entry> capture(QueryCase query) {
+        long before = sqlTrace.recent(1, false).stream().mapToLong(SqlTraceBuffer.Entry::sequence).max().orElse(-1);
+        String thread = Thread.currentThread().getName();
+        query.call().accept(this);
+        List<SqlTraceBuffer.Entry> statements = new ArrayList<>();
+        for (SqlTraceBuffer.Entry entry : sqlTrace.recent(sqlTrace.stats().capacity(), false)) {
+            if (entry.sequence() <= before) {
+                break;
+            }
+            String verb = entry.sql().stripLeading().toLowerCase(Locale.ROOT);
+            if (entry.thread().equals(thread) && (verb.startsWith("select") || verb.startsWith("update")
+                    || verb.startsWith("delete"))) {
+                statements.add(0, entry);
+            }
+        }
+        return statements;
+    }
+
+    private String explain(SqlTraceBuffer.Entry statement) {
+        assertThat(statement.parameters()).as("bound values of %s", statement.sql()).isNotNull().doesNotContain("?");
+        Object[] args = statement.parameters().stream().map(value -> "NULL".equals(value) ? null : value).toArray();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), args);
+        return rows.stream()
+                .flatMap(row -> row.values().stream())
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private void inRolledBackTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * One repository call: display name, index expected in the plan of every statement it issues and
+     * the call itself.
+     */
+    record QueryCase(String name, String expectedIndex, Consumer<RepositoryQueryPlanTests> call) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.meta3.java.scaffold.infrastructure.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoResumoRepository;
+import br.com.meta3.java.scaffold.infrastructure.repositories.ArquivoResumoJdbcRepositoryImpl;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Migrations run against a private in-memory H2 database holding tables in their legacy shape, as
+ * a database created by an earlier version of the application would have them.
+ */
+class SchemaMigrationsTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private SchemaMigrations migrations;
+
+    @BeforeEach
+    void createDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The rebuild runs the real SQL of the JDBC fragment, without the Spring Data repository around it.
+        ArquivoResumoRepository resumoRepository = mock(ArquivoResumoRepository.class);
+        when(resumoRepository.rebuild()).thenAnswer(invocation -> new ArquivoResumoJdbcRepositoryImpl(jdbcTemplate).rebuild());
+        migrations = new SchemaMigrations(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                resumoRepository);
+        jdbcTemplate.execute("CREATE TABLE arquivo_recadastramento_estado (codigo VARCHAR(50) PRIMARY KEY,"
+                + " data_movimentacao VARCHAR(50), ano_base VARCHAR(10), cnpj VARCHAR(20), cnpj_numerico BIGINT)");
+        jdbcTemplate.execute("CREATE INDEX idx_recadastramento_ano_base_bairro ON arquivo_recadastramento_estado (ano_base)");
+        jdbcTemplate.execute("CREATE TABLE arquivo (codigo_arquivo INTEGER PRIMARY KEY, ano_vigencia VARCHAR(10),"
+                + " codigo_escola VARCHAR(50), quantidade_registro INTEGER, aptos INTEGER, sem_documento INTEGER,"
+                + " com_codigo_setps INTEGER, com_erro INTEGER)");
+        jdbcTemplate.execute("CREATE INDEX idx_arquivo_ano_vigencia_codigo_escola ON arquivo (ano_vigencia, codigo_escola)");
+        jdbcTemplate.execute("CREATE TABLE arquivo_resumo (ano_vigencia VARCHAR(10) NOT NULL, codigo_escola VARCHAR(50) NOT NULL,"
+                + " arquivos BIGINT NOT NULL, quantidade_registro BIGINT NOT NULL, aptos BIGINT NOT NULL,"
+                + " sem_documento BIGINT NOT NULL, com_codigo_setps BIGINT NOT NULL, com_erro BIGINT NOT NULL,"
+                + " PRIMARY KEY (ano_vigencia, codigo_escola))");
+        jdbcTemplate.execute("CREATE INDEX idx_recadastramento_data_movimentacao"
+                + " ON arquivo_recadastramento_estado (data_movimentacao, codigo)");
+    }
+
+    @Test
+    void backfillsTheNumericCnpjOfEveryRow() {
+        // More rows than one chunk, so the scan has to continue after the first one.
+        for (int i = 0; i < SchemaMigrations.CHUNK_SIZE + 5; i++) {
+            jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, cnpj) VALUES (?, ?)",
+                    String.format("C%05d", i), String.format("12.345.678/%04d-90", i));
+        }
+        // Keys stored by the earlier normalizer, which accepted fewer than 14 digits.
+        jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, cnpj, cnpj_numerico) VALUES ('SHORT', '191', 191)");
+        jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, cnpj) VALUES ('BLANK', '')");
+
+        assertThat(migrations.migrate()).contains("recadastramento-cnpj-numerico");
+
+        assertThat(cnpjNumerico("C00000")).isEqualTo(12345678000090L);
+        assertThat(cnpjNumerico(String.format("C%05d", SchemaMigrations.CHUNK_SIZE + 4))).isEqualTo(12345678100490L);
+        assertThat(cnpjNumerico("SHORT")).isNull();
+        assertThat(cnpjNumerico("BLANK")).isNull();
+    }
+
+    @Test
+    void convertsLegacyTextDatesAndQuarantinesTheRest() {
+        insertDataMovimentacao("A", "15/01/2024");
+        insertDataMovimentacao("B", "2024-01-15 10:30:00");
+        insertDataMovimentacao("C", "150124");
+        insertDataMovimentacao("D", "31/02/2024");
+        insertDataMovimentacao("E", " ");
+        insertDataMovimentacao("F", null);
+
+        assertThat(migrations.migrate()).contains("recadastramento-data-movimentacao-date");
+
+        assertThat(migrations.columnType("arquivo_recadastramento_estado", "data_movimentacao")).isEqualTo(Types.DATE);
+        assertThat(migrations.columnType("arquivo_recadastramento_estado", "data_movimentacao_data")).isNull();
+        assertThat(jdbcTemplate.queryForList("SELECT data_movimentacao FROM arquivo_recadastramento_estado ORDER BY codigo",
+                LocalDate.class)).containsExactly(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15), null, null, null, null);
+        assertThat(jdbcTemplate.queryForList("SELECT codigo || '=' || data_movimentacao FROM recadastramento_data_quarentena"
+                + " ORDER BY codigo", String.class)).containsExactly("C=150124", "D=31/02/2024");
+        assertThat(jdbcTemplate.queryForList("SELECT column_name FROM information_schema.index_columns"
+                + " WHERE index_name = 'IDX_RECADASTRAMENTO_DATA_MOVIMENTACAO' ORDER BY ordinal_position", String.class))
+                .containsExactly("DATA_MOVIMENTACAO", "CODIGO");
+    }
+
+    @Test
+    void finishesADateConversionStoppedAfterTheOldColumnWasDropped() {
+        // State after a crash between DROP COLUMN and RENAME, once Hibernate has added an empty DATE column.
+        jdbcTemplate.execute("DROP INDEX idx_recadastramento_data_movimentacao");
+        jdbcTemplate.execute("ALTER TABLE arquivo_recadastramento_estado DROP COLUMN data_movimentacao");
+        jdbcTemplate.execute("ALTER TABLE arquivo_recadastramento_estado ADD COLUMN data_movimentacao_data DATE");
+        jdbcTemplate.execute("ALTER TABLE arquivo_recadastramento_estado ADD COLUMN data_movimentacao DATE");
+        jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, data_movimentacao_data) VALUES ('A', DATE '2024-01-15')");
+
+        migrations.migrate();
+
+        assertThat(migrations.columnType("arquivo_recadastramento_estado", "data_movimentacao_data")).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT data_movimentacao FROM arquivo_recadastramento_estado",
+                LocalDate.class)).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void convertsLegacyTextYearsAndRebuildsTheSummary() {
+        insertArquivo(1, "2024", 10);
+        insertArquivo(2, " 2024 ", 5);
+        insertArquivo(3, "", 1);
+        insertArquivo(4, "0999", 2);
+        insertArquivo(5, "24", 3);
+        // Summary keyed by the old text, as the deltas of the earlier version left it.
+        jdbcTemplate.update("INSERT INTO arquivo_resumo VALUES (' 2024 ', 'E', 1, 5, 0, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, ano_base) VALUES ('A', '2023'), ('B', 'abcd'), ('C', NULL)");
+
+        assertThat(migrations.migrate()).contains("ano-smallint");
+
+        assertThat(migrations.columnType("arquivo", "ano_vigencia")).isEqualTo(Types.SMALLINT);
+        assertThat(migrations.columnType("arquivo_recadastramento_estado", "ano_base")).isEqualTo(Types.SMALLINT);
+        assertThat(jdbcTemplate.queryForList("SELECT ano_vigencia FROM arquivo ORDER BY codigo_arquivo", Short.class))
+                .containsExactly((short) 2024, (short) 2024, null, null, null);
+        assertThat(jdbcTemplate.queryForList("SELECT ano_base FROM arquivo_recadastramento_estado ORDER BY codigo", Short.class))
+                .containsExactly((short) 2023, null, null);
+        assertThat(jdbcTemplate.queryForList("SELECT codigo_arquivo || '=' || ano_vigencia FROM arquivo_ano_quarentena"
+                + " ORDER BY codigo_arquivo", String.class)).containsExactly("4=0999", "5=24");
+        assertThat(jdbcTemplate.queryForList("SELECT codigo || '=' || ano_base FROM recadastramento_ano_quarentena",
+                String.class)).containsExactly("B=abcd");
+        assertThat(jdbcTemplate.queryForList("SELECT ano_vigencia || ':' || arquivos || ':' || quantidade_registro"
+                + " FROM arquivo_resumo ORDER BY ano_vigencia", String.class)).containsExactly(":3:6", "2024:2:15");
+    }
+
+    @Test
+    void runsEachMigrationOnce() {
+        assertThat(migrations.migrate()).isNotEmpty();
+
+        assertThat(migrations.migrate()).isEmpty();
+    }
+
+    private void insertArquivo(int codigo, String anoVigencia, int quantidadeRegistro) {
+        jdbcTemplate.update("INSERT INTO arquivo (codigo_arquivo, ano_vigencia, codigo_escola, quantidade_registro)"
+                + " VALUES (?, ?, 'E', ?)", codigo, anoVigencia, quantidadeRegistro);
+    }
+
+    private void insertDataMovimentacao(String codigo, String dataMovimentacao) {
+        jdbcTemplate.update("INSERT INTO arquivo_recadastramento_estado (codigo, data_movimentacao) VALUES (?, ?)",
+                codigo, dataMovimentacao);
+    }
+
+    private Long cnpjNumerico(String codigo) {
+        return jdbcTemplate.queryForObject("SELECT cnpj_numerico FROM arquivo_recadastramento_estado WHERE codigo = ?",
+                Long.class, codigo);
+    }
+}